@@ -1,18 +1,25 @@
 package code.with.vanilson.market.customers.api;
 
 import code.with.vanilson.market.customers.application.CustomerService;
+import code.with.vanilson.market.shared.application.CursorPage;
+import code.with.vanilson.market.shared.infrastructure.NdjsonResponses;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,16 +33,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper) {
         this.customerService = customerService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Get all customers", description = "Retrieves a list of all customers indexed in the system for the current tenant.")
-    @ApiResponse(responseCode = "200", description = "List of customers retrieved successfully")
+    @Operation(summary = "Get all customers", description = "Retrieves one page of the current tenant's customers ordered by id. Pass the returned nextCursor to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Page of customers retrieved successfully")
     @GetMapping
-    public ResponseEntity<List<CustomerDto.Response>> getAllCustomers() {
-        return ResponseEntity.ok(customerService.getAllcustomers());
+    public ResponseEntity<CursorPage<CustomerDto.Response>> getAllCustomers(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(customerService.getAllcustomers(tenantId, cursor, size));
+    }
+
+    @Operation(summary = "Stream all customers", description = "Streams every customer of the current tenant as newline-delimited JSON.")
+    @ApiResponse(responseCode = "200", description = "Customers streamed successfully")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers(@RequestAttribute(TenantContext.TENANT_ID) String tenantId) {
+        return NdjsonResponses.<CustomerDto.Response>stream(objectMapper, sink -> customerService.streamAllCustomers(tenantId, sink));
     }
 
     @Operation(summary = "Get customer by ID", description = "Retrieves detailed information for a specific customer.")
@@ -44,8 +63,10 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDto.Response> getCustomerById(@PathVariable UUID id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+    public ResponseEntity<CustomerDto.Response> getCustomerById(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @PathVariable UUID id) {
+        return ResponseEntity.ok(customerService.getCustomerById(tenantId, id));
     }
 
     @Operation(summary = "Create new customer", description = "Onboards a new customer into the system.")
@@ -65,10 +86,11 @@ public class CustomerController {
     })
     @PutMapping("/{id}")
     public ResponseEntity<CustomerDto.Response> updateCustomer(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
             @PathVariable UUID id,
             @Valid @RequestBody CustomerDto.UpdateRequest request) {
 
-        CustomerDto.Response updatedCustomer = customerService.updateCustomer(id, request);
+        CustomerDto.Response updatedCustomer = customerService.updateCustomer(tenantId, id, request);
         return ResponseEntity.ok(updatedCustomer);
     }
 
@@ -78,8 +100,9 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     @PostMapping("/{id}/kyc")
-    public ResponseEntity<Void> verifyKyc(@PathVariable UUID id) {
-        customerService.verifyKyc(id);
+    public ResponseEntity<Void> verifyKyc(@RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+                                          @PathVariable UUID id) {
+        customerService.verifyKyc(tenantId, id);
         return ResponseEntity.noContent().build();
     }
 
@@ -89,8 +112,10 @@ public class CustomerController {
             @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCustomer(@PathVariable UUID id) {
-        customerService.deleteCustomerById(id);
+    public ResponseEntity<Void> deleteCustomer(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @PathVariable UUID id) {
+        customerService.deleteCustomerById(tenantId, id);
         return ResponseEntity.noContent().build(); // 204 No Content
     }
 }
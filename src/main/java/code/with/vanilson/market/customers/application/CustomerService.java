@@ -3,23 +3,32 @@ package code.with.vanilson.market.customers.application;
 import code.with.vanilson.market.customers.api.CustomerDto;
 import code.with.vanilson.market.customers.domain.Customer;
 import code.with.vanilson.market.customers.domain.CustomerRepository;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerAlreadyExistsException;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerNotFoundException;
-import org.springframework.cache.annotation.CacheEvict;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 
 public class CustomerService {
 
+    public static final String CACHE = "customers";
+
     private final CustomerRepository customerRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public CustomerService(CustomerRepository customerRepository) {
         this.customerRepository = customerRepository;
     }
@@ -42,17 +51,22 @@ public class CustomerService {
         return mapToResponse(customer);
     }
 
-    @Cacheable(value = "customers", key = "#id")
-    public CustomerDto.Response getCustomerById(UUID id) {
-        Customer customer = customerRepository.findById(id)
+    /**
+     * Loaded from the primary, not the replica: this runs right after a write evicts the entry, and a
+     * lagging replica would put the old row back in the cache for the whole TTL.
+     */
+    @Cacheable(value = CACHE, key = "#tenantId + ':' + #id", sync = true)
+    @Transactional
+    public CustomerDto.Response getCustomerById(String tenantId, UUID id) {
+        Customer customer = customerRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
         return mapToResponse(customer);
     }
 
 
     @Transactional
-    public CustomerDto.Response updateCustomer(UUID id, CustomerDto.UpdateRequest request) {
-        Customer customer = customerRepository.findById(id)
+    public CustomerDto.Response updateCustomer(String tenantId, UUID id, CustomerDto.UpdateRequest request) {
+        Customer customer = customerRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
 
         // Optional: check if email is unique
@@ -61,11 +75,7 @@ public class CustomerService {
             throw new CustomerAlreadyExistsException("Email already in use by another customer");
         }
 
-        // Update fields
-        customer.setName(request.getName());
-        customer.setEmail(request.getEmail());
-        customer.setPhone(request.getPhone());
-        customer.setKycVerified(request.isKycVerified());
+        customer.updateDetails(request.getName(), request.getEmail(), request.getPhone(), request.isKycVerified());
 
         customerRepository.save(customer);
 
@@ -74,25 +84,43 @@ public class CustomerService {
 
 
     @Transactional
-    public void verifyKyc(UUID id) {
-        Customer customer = customerRepository.findById(id)
+    public void verifyKyc(String tenantId, UUID id) {
+        Customer customer = customerRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
         customer.verifyKyc();
         customerRepository.save(customer);
     }
 
-    public List<CustomerDto.Response> getAllcustomers() {
-        return customerRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerDto.Response> getAllcustomers(String tenantId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<Customer> rows = cursor == null
+                ? customerRepository.findByTenantIdOrderByIdAsc(tenantId, Limit.of(pageSize + 1))
+                : customerRepository.findByTenantIdAndIdGreaterThanOrderByIdAsc(
+                        tenantId, CursorPage.decode(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Customer::getId, this::mapToResponse);
+    }
+
+    /**
+     * Pushes every customer of the tenant to {@code sink} straight off a database cursor.
+     * Each row is detached once written, so memory stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(String tenantId, Consumer<CustomerDto.Response> sink) {
+        try (Stream<Customer> rows = customerRepository.streamAllByTenantId(tenantId)) {
+            rows.forEach(row -> {
+                sink.accept(mapToResponse(row));
+                entityManager.detach(row);
+            });
+        }
     }
 
-    @CacheEvict(value = "customers", key = "#id")
     @Transactional
-    public void deleteCustomerById(UUID id) {
-        Customer customer = customerRepository.findById(id)
+    public void deleteCustomerById(String tenantId, UUID id) {
+        Customer customer = customerRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
-        customerRepository.deleteById(customer.getId());
+        customer.markRemoved();
+        customerRepository.delete(customer);
     }
 
     private CustomerDto.Response mapToResponse(Customer customer) {
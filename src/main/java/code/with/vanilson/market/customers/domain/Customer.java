@@ -1,5 +1,6 @@
 package code.with.vanilson.market.customers.domain;
 
+import code.with.vanilson.market.events.domain.CustomerChangedEvent;
 import code.with.vanilson.market.events.domain.CustomerKycVerifiedEvent;
 import code.with.vanilson.market.shared.domain.AggregateRoot;
 import code.with.vanilson.market.shared.infrastructure.exception.KycAlreadyVerifiedException;
@@ -41,6 +42,22 @@ public class Customer extends AggregateRoot {
         }
         this.kycVerified = true;
         registerEvent(new CustomerKycVerifiedEvent(this.getId()));
+        registerEvent(new CustomerChangedEvent(this.getId(), this.tenantId));
+    }
+
+    public void updateDetails(String name, String email, String phone, boolean kycVerified) {
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.kycVerified = kycVerified;
+        registerEvent(new CustomerChangedEvent(this.getId(), this.tenantId));
+    }
+
+    /**
+     * Records the removal; the event is published when the customer is passed to {@code delete}.
+     */
+    public void markRemoved() {
+        registerEvent(new CustomerChangedEvent(this.getId(), this.tenantId));
     }
 
 }
@@ -1,9 +1,35 @@
 package code.with.vanilson.market.customers.domain;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     Optional<Customer> findByEmail(String email);
+
+    Optional<Customer> findByTenantIdAndId(String tenantId, UUID id);
+
+    /**
+     * Keyset pages of one tenant's customers, served from the {@code (tenant_id, id)} index.
+     */
+    List<Customer> findByTenantIdOrderByIdAsc(String tenantId, Limit limit);
+
+    List<Customer> findByTenantIdAndIdGreaterThanOrderByIdAsc(String tenantId, UUID id, Limit limit);
+
+    /**
+     * Streams every customer of a tenant in id order from a server-side cursor, fetching 500 rows per round trip.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Customer c WHERE c.tenantId = :tenantId ORDER BY c.id")
+    Stream<Customer> streamAllByTenantId(@Param("tenantId") String tenantId);
 }
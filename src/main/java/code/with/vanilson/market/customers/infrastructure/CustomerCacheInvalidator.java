@@ -0,0 +1,29 @@
+package code.with.vanilson.market.customers.infrastructure;
+
+import code.with.vanilson.market.customers.application.CustomerService;
+import code.with.vanilson.market.events.domain.CustomerChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops the cached view of a customer once a change to it commits. Evicting after commit rather than
+ * around the service call keeps a concurrent read from caching the pre-commit row again.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        Cache cache = cacheManager.getCache(CustomerService.CACHE);
+        if (cache != null) {
+            // Same key as CustomerService#getCustomerById
+            cache.evict(event.getTenantId() + ":" + event.getCustomerId());
+        }
+    }
+}
@@ -21,7 +21,8 @@ public class CustomerEventConsumer {
         this.objectMapper = objectMapper;
     }
 
-    @KafkaListener(topics = "user.registered", groupId = "customers-group", containerFactory = "kafkaListenerContainerFactory")
+    @KafkaListener(topics = "user.registered", groupId = "customers-group", containerFactory = "kafkaListenerContainerFactory",
+            concurrency = "${app.kafka.listener-concurrency:6}")
     public void handleUserRegistered(UserRegisteredEvent event) {
         log.info("Received UserRegisteredEvent: {}", event);
 
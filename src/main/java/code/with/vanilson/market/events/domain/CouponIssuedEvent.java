@@ -0,0 +1,25 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Raised when a coupon is created, so every node's coupon index can add it.
+ */
+public class CouponIssuedEvent implements DomainEvent {
+    @Getter
+    private final String code;
+    private final Instant occurredOn;
+
+    public CouponIssuedEvent(String code) {
+        this.code = code;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
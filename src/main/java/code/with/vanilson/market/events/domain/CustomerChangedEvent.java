@@ -0,0 +1,29 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when a customer's details change or the customer is removed, so cached views of it can be dropped.
+ */
+public class CustomerChangedEvent implements DomainEvent {
+    @Getter
+    private final UUID customerId;
+    @Getter
+    private final String tenantId;
+    private final Instant occurredOn;
+
+    public CustomerChangedEvent(UUID customerId, String tenantId) {
+        this.customerId = customerId;
+        this.tenantId = tenantId;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
@@ -1,25 +1,198 @@
 package code.with.vanilson.market.events.domain;
 
-import lombok.RequiredArgsConstructor;
+import code.with.vanilson.market.shared.domain.AggregateEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class EventProducer {
 
+    /**
+     * What {@link #publishAsync} does once {@code app.events.async.max-in-flight} sends are
+     * awaiting acknowledgement.
+     */
+    public enum BackpressurePolicy {
+        /** Wait up to {@code block-timeout-ms} for a slot, then reject. */
+        BLOCK,
+        /** Stop tracking the oldest in-flight send, failing its future, to make room. */
+        DROP_OLDEST,
+        /** Reject immediately. */
+        FAIL_FAST
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
     private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final BackpressurePolicy policy;
+    private final long blockTimeoutMs;
+    private final Semaphore permits;
+    private final Deque<InFlight> inFlightSends = new ConcurrentLinkedDeque<>();
+    private final Counter rejected;
+    private final Counter dropped;
+
+    public EventProducer(OutboxEventRepository outboxEventRepository,
+                         ObjectMapper objectMapper,
+                         KafkaTemplate<Object, Object> kafkaTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.events.async.max-in-flight:1000}") int maxInFlight,
+                         @Value("${app.events.async.policy:BLOCK}") BackpressurePolicy policy,
+                         @Value("${app.events.async.block-timeout-ms:5000}") long blockTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.policy = policy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.permits = new Semaphore(maxInFlight);
+        this.rejected = meterRegistry.counter("events.publish.async.rejected");
+        this.dropped = meterRegistry.counter("events.publish.async.dropped");
+        Gauge.builder("events.publish.async.in_flight", permits, p -> maxInFlight - p.availablePermits())
+                .register(meterRegistry);
+    }
 
+    /**
+     * Records the event in the transactional outbox, keyed by its aggregate id when it is an
+     * {@link AggregateEvent}. The row is written in the caller's transaction and relayed to Kafka
+     * after commit, so publishing costs a local insert and never waits on the broker.
+     */
     public void publish(String topic, Object event) {
+        publish(topic, keyOf(event), event);
+    }
+
+    public void publish(String topic, String key, Object event) {
         try {
-            kafkaTemplate.send(topic, event).get(10, java.util.concurrent.TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while sending to Kafka", e);
-        } catch (java.util.concurrent.ExecutionException e) {
-            throw new RuntimeException("Failed to send message to Kafka topic: " + topic + ". Cause: " + e.getCause().getMessage(), e);
-        } catch (Exception e) {
-            throw new RuntimeException("Unexpected error sending message to Kafka topic: " + topic, e);
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(topic)
+                    .eventKey(key)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .payloadType(event.getClass().getName())
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event for Kafka topic: " + topic, e);
+        }
+    }
+
+    /**
+     * Sends the event straight to Kafka and returns a future that completes with the broker
+     * acknowledgement. Inside a transaction the send is deferred until after commit and the
+     * future is cancelled on rollback, so no connection is held for the broker round trip.
+     * Unlike {@link #publish}, an event lost to a broker outage is not retried.
+     */
+    public CompletableFuture<SendResult<Object, Object>> publishAsync(String topic, Object event) {
+        return publishAsync(topic, keyOf(event), event);
+    }
+
+    public CompletableFuture<SendResult<Object, Object>> publishAsync(String topic, String key, Object event) {
+        CompletableFuture<SendResult<Object, Object>> result = new CompletableFuture<>();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(topic, key, event, result);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        result.cancel(false);
+                    }
+                }
+            });
+        } else {
+            dispatch(topic, key, event, result);
+        }
+        return result;
+    }
+
+    private void dispatch(String topic, String key, Object event, CompletableFuture<SendResult<Object, Object>> result) {
+        if (!acquire()) {
+            rejected.increment();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many in-flight sends, rejected event for Kafka topic: " + topic));
+            return;
         }
+
+        InFlight inFlight = new InFlight(result);
+        inFlightSends.add(inFlight);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            kafkaTemplate.send(topic, key, event).whenComplete((sendResult, ex) -> {
+                sample.stop(meterRegistry.timer("events.publish.async.latency", "topic", topic));
+                complete(inFlight, topic, sendResult, ex);
+            });
+        } catch (RuntimeException e) {
+            complete(inFlight, topic, null, e);
+        }
+    }
+
+    private static String keyOf(Object event) {
+        if (event instanceof AggregateEvent aggregateEvent && aggregateEvent.aggregateId() != null) {
+            return aggregateEvent.aggregateId().toString();
+        }
+        return null;
+    }
+
+    private void complete(InFlight inFlight, String topic, SendResult<Object, Object> sendResult, Throwable ex) {
+        // A dropped send has already given its permit back
+        if (inFlightSends.remove(inFlight)) {
+            permits.release();
+        }
+        if (ex != null) {
+            meterRegistry.counter("events.publish.async.failures", "topic", topic).increment();
+            inFlight.result().completeExceptionally(ex);
+        } else {
+            inFlight.result().complete(sendResult);
+        }
+    }
+
+    private boolean acquire() {
+        switch (policy) {
+            case FAIL_FAST:
+                return permits.tryAcquire();
+            case DROP_OLDEST:
+                while (!permits.tryAcquire()) {
+                    InFlight oldest = inFlightSends.poll();
+                    if (oldest == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    permits.release();
+                    dropped.increment();
+                    oldest.result().completeExceptionally(
+                            new CancellationException("Dropped to make room for newer events"));
+                }
+                return true;
+            default:
+                try {
+                    return permits.tryAcquire(blockTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    private record InFlight(CompletableFuture<SendResult<Object, Object>> result) {
     }
 }
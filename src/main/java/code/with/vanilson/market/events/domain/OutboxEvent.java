@@ -0,0 +1,37 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseEntity {
+
+    @Column(nullable = false)
+    private String topic;
+
+    private String eventKey;
+
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private String payloadType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+}
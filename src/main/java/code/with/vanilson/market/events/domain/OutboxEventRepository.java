@@ -0,0 +1,33 @@
+package code.with.vanilson.market.events.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Takes the relay's transaction-level advisory lock if no other instance holds it. It is released
+     * when the transaction ends, so only one instance relays a batch at any time.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRelay(@Param("key") long key);
+
+    /**
+     * Claims the oldest unpublished events. The relay lock already keeps other instances out;
+     * {@code SKIP LOCKED} only stops a claim from queueing behind rows a writer still holds.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") Instant publishedAt);
+}
@@ -0,0 +1,29 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when a payment's state changes. Carries both ids because payments are cached by id and by order.
+ */
+public class PaymentChangedEvent implements DomainEvent {
+    @Getter
+    private final UUID paymentId;
+    @Getter
+    private final UUID orderId;
+    private final Instant occurredOn;
+
+    public PaymentChangedEvent(UUID paymentId, UUID orderId) {
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
@@ -0,0 +1,26 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised when a product's catalog details (name, description or price) change. Stock movements do not raise it.
+ */
+public class ProductChangedEvent implements DomainEvent {
+    @Getter
+    private final UUID productId;
+    private final Instant occurredOn;
+
+    public ProductChangedEvent(UUID productId) {
+        this.productId = productId;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
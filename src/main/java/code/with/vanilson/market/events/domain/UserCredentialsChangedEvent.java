@@ -0,0 +1,26 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Raised when anything a {@code UserDetails} is built from changes: roles, 2FA or the password. A re-hash
+ * of the same password raises {@link UserPasswordRehashedEvent} instead.
+ */
+public class UserCredentialsChangedEvent implements DomainEvent {
+    @Getter
+    private final String email;
+    private final Instant occurredOn;
+
+    public UserCredentialsChangedEvent(String email) {
+        this.email = email;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
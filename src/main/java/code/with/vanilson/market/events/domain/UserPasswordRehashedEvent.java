@@ -0,0 +1,26 @@
+package code.with.vanilson.market.events.domain;
+
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Raised when the stored hash of an unchanged password is replaced, e.g. after a BCrypt cost upgrade.
+ * Cached user details go stale, but the tokens the user holds stay valid.
+ */
+public class UserPasswordRehashedEvent implements DomainEvent {
+    @Getter
+    private final String email;
+    private final Instant occurredOn;
+
+    public UserPasswordRehashedEvent(String email) {
+        this.email = email;
+        this.occurredOn = Instant.now();
+    }
+
+    @Override
+    public Instant occurredOn() {
+        return occurredOn;
+    }
+}
@@ -0,0 +1,71 @@
+package code.with.vanilson.market.events.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes outbox rows that were published more than {@code retention-hours} ago.
+ *
+ * <p>Rows go in chunks of {@code chunk-size}, each its own autocommitted statement, with a pause in between,
+ * like the refresh token reaper. The cutoff is computed by Postgres, so it is compared with
+ * {@code published_at} in the session time zone that row was written in.
+ */
+@Component
+@Slf4j
+public class OutboxPurger {
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM outbox_events
+            WHERE ctid IN (SELECT ctid FROM outbox_events
+                           WHERE published_at < now() - make_interval(hours => ?) LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionHours;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final Counter purged;
+
+    public OutboxPurger(JdbcTemplate jdbcTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.outbox.purge.retention-hours:72}") int retentionHours,
+                        @Value("${app.outbox.purge.chunk-size:5000}") int chunkSize,
+                        @Value("${app.outbox.purge.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionHours = retentionHours;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.purged = Counter.builder("events.outbox.purged")
+                .description("Published outbox rows deleted after their retention")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${app.outbox.purge.interval-ms:600000}")
+    public void purgePublished() {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_CHUNK_SQL, retentionHours, chunkSize);
+            total += deleted;
+            purged.increment(deleted);
+            if (deleted == chunkSize && pauseMs > 0) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (deleted == chunkSize);
+
+        if (total > 0) {
+            log.info("Purged {} published outbox events", total);
+        }
+    }
+}
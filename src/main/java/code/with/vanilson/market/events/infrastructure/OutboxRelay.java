@@ -0,0 +1,150 @@
+package code.with.vanilson.market.events.infrastructure;
+
+import code.with.vanilson.market.events.domain.OutboxEvent;
+import code.with.vanilson.market.events.domain.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the transactional outbox to Kafka.
+ *
+ * <p>Every {@code app.outbox.linger-ms} the relay claims up to {@code app.outbox.batch-size}
+ * unpublished rows, sends them without waiting between records so the producer can batch them,
+ * then waits for all acknowledgements together, up to {@code app.outbox.send-timeout-ms} for the
+ * whole batch, and marks the acknowledged rows as published. Rows whose send fails or is not
+ * acknowledged in time stay unpublished and are retried on the next pass, so delivery is
+ * at-least-once.
+ *
+ * <p>Events of one key must reach their partition in the order they were written. Each batch is
+ * relayed under a Postgres advisory lock, so when every instance fires at once only one of them
+ * relays and the others skip the pass. Within a batch, once an event of a key fails, the later
+ * events of that key are not sent, or stay unpublished if already in flight, and go out again
+ * after it on the next pass.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    /** Advisory lock key held for the length of each relayed batch. */
+    public static final long LOCK_KEY = "outbox-relay".hashCode();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<Object, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.linger-ms:50}")
+    public void drain() {
+        // A full batch means there is likely more waiting, so keep going instead of lingering
+        while (relayBatch() == batchSize) {
+            log.debug("Outbox batch full, relaying next batch immediately");
+        }
+    }
+
+    /**
+     * Relays one batch and returns how many rows were published. The claim and the published
+     * marker share a transaction, so a crash before commit simply releases the rows.
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryLockRelay(LOCK_KEY)) {
+                log.debug("Another instance is relaying the outbox");
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            Set<String> heldKeys = new HashSet<>();
+            Map<OutboxEvent, CompletableFuture<?>> sends = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                if (isHeld(event, heldKeys)) {
+                    continue;
+                }
+                try {
+                    Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getPayloadType()));
+                    sends.put(event, kafkaTemplate.send(event.getTopic(), event.getEventKey(), payload));
+                } catch (Exception e) {
+                    log.error("Failed to send outbox event {} to topic {}", event.getId(), event.getTopic(), e);
+                    hold(event, heldKeys);
+                }
+            }
+
+            // One deadline for the whole batch: the claimed rows and this connection are held until it passes
+            try {
+                CompletableFuture.allOf(sends.values().toArray(CompletableFuture[]::new))
+                        .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Sorted out per record below
+            }
+
+            // Sends are in claim order, so a failure holds back every later event of its key
+            List<UUID> published = new ArrayList<>();
+            sends.forEach((event, send) -> {
+                if (!send.isDone()) {
+                    log.error("Kafka did not acknowledge outbox event {} within {} ms", event.getId(), sendTimeoutMs);
+                    hold(event, heldKeys);
+                } else if (send.isCompletedExceptionally()) {
+                    log.error("Kafka rejected outbox event {}", event.getId(), send.handle((result, e) -> e).join());
+                    hold(event, heldKeys);
+                } else if (!isHeld(event, heldKeys)) {
+                    published.add(event.getId());
+                }
+            });
+
+            if (!published.isEmpty()) {
+                outboxEventRepository.markPublished(published, Instant.now());
+            }
+            return published.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private static boolean isHeld(OutboxEvent event, Set<String> heldKeys) {
+        return event.getEventKey() != null && heldKeys.contains(event.getTopic() + ":" + event.getEventKey());
+    }
+
+    private static void hold(OutboxEvent event, Set<String> heldKeys) {
+        // Unkeyed events carry no ordering, so their failure holds nothing back
+        if (event.getEventKey() != null) {
+            heldKeys.add(event.getTopic() + ":" + event.getEventKey());
+        }
+    }
+}
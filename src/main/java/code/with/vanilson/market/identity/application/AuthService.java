@@ -2,12 +2,15 @@ package code.with.vanilson.market.identity.application;
 
 import code.with.vanilson.market.events.domain.EventProducer;
 import code.with.vanilson.market.identity.api.dto.AuthDto;
-import code.with.vanilson.market.identity.domain.RefreshToken;
+import code.with.vanilson.market.identity.domain.RecoveryCode;
+import code.with.vanilson.market.identity.domain.RecoveryCodeRepository;
 import code.with.vanilson.market.identity.domain.RefreshTokenRepository;
 import code.with.vanilson.market.identity.domain.Role;
 import code.with.vanilson.market.identity.domain.User;
 import code.with.vanilson.market.identity.domain.UserRepository;
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
+import code.with.vanilson.market.identity.infrastructure.RecoveryCodeHasher;
+import code.with.vanilson.market.identity.infrastructure.TokenDenyList;
 import code.with.vanilson.market.identity.infrastructure.TotpUtils;
 import code.with.vanilson.market.shared.domain.UserRegisteredEvent;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerAlreadyExistsException;
@@ -31,8 +34,11 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RecoveryCodeRepository recoveryCodeRepository;
+    private final RecoveryCodeHasher recoveryCodeHasher;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
+    private final TokenDenyList tokenDenyList;
     private final TotpUtils totpUtils;
     private final AuthenticationManager authenticationManager;
     private final EventProducer eventProducer;
@@ -56,11 +62,14 @@ public class AuthService {
                 .tenantId(request.getTenantId())
                 .totpSecret(totpSecret)
                 .totpEnabled(true) // Enforced by requirements
-                .recoveryCodes(recoveryCodes)
                 .build();
 
         user.addRole(Role.CUSTOMER); // Default role
         userRepository.save(user);
+        // Only hashes are stored; the plain codes are shown once in the response
+        recoveryCodeRepository.saveAll(recoveryCodes.stream()
+                .map(code -> RecoveryCode.of(user.getId(), recoveryCodeHasher.hash(code)))
+                .toList());
 
         AuthDto.RegisterResponse response = new AuthDto.RegisterResponse();
         response.setMessage("User registered successfully. Please setup your 2FA.");
@@ -101,11 +110,9 @@ public class AuthService {
 
             // Check Recovery Code if not verified yet
             if (!verified && request.getRecoveryCode() != null && !request.getRecoveryCode().isBlank()) {
-                if (user.getRecoveryCodes().contains(request.getRecoveryCode())) {
-                    user.getRecoveryCodes().remove(request.getRecoveryCode()); // Burn used code
-                    userRepository.save(user);
-                    verified = true;
-                }
+                // Verify and burn in one DELETE
+                verified = recoveryCodeRepository.deleteByUserIdAndCodeHash(
+                        user.getId(), recoveryCodeHasher.hash(request.getRecoveryCode())) == 1;
             }
 
             if (!verified) {
@@ -116,49 +123,53 @@ public class AuthService {
         // 3. Generate Tokens
         String jwt = jwtProvider.generateToken(user);
 
-        // Rotate Refresh Token - delete old one first using query to bypass session cache
-        refreshTokenRepository.deleteTokensByUser(user);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusSeconds(60 * 60 * 24 * 7)) // 7 days
-                .build();
-        refreshTokenRepository.save(refreshToken);
+        // Replaces any previous refresh token in the same statement
+        String refreshToken = UUID.randomUUID().toString();
+        refreshTokenRepository.upsert(UUID.randomUUID(), user.getId(), refreshToken, refreshTokenExpiry());
 
-        return new AuthDto.AuthResponse(jwt, refreshToken.getToken());
+        return new AuthDto.AuthResponse(jwt, refreshToken);
     }
 
     @Transactional
     public AuthDto.AuthResponse refreshToken(AuthDto.RefreshTokenRequest request) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh Token not found"));
-
-        if (refreshToken.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new RefreshTokenExpiredException("Refresh token was expired. Please make a new signin request");
-        }
-
-        User user = refreshToken.getUser();
+        String newRefreshToken = UUID.randomUUID().toString();
+        UUID userId = refreshTokenRepository.rotate(request.getRefreshToken(), Instant.now(),
+                        newRefreshToken, refreshTokenExpiry())
+                .orElseThrow(() -> rejectRefreshToken(request.getRefreshToken()));
 
-        // Rotate Refresh Token - use query-based delete to bypass session cache
-        refreshTokenRepository.deleteTokensByUser(user);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new CustomerNotFoundException("User not found"));
+        String jwt = jwtProvider.generateToken(user);
 
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusSeconds(60 * 60 * 24 * 7)) // 7 days
-                .build();
-        refreshTokenRepository.save(newRefreshToken);
+        return new AuthDto.AuthResponse(jwt, newRefreshToken);
+    }
 
-        String jwt = jwtProvider.generateToken(user);
+    /**
+     * Works out why rotation matched no row; only runs on the failure path.
+     */
+    private RuntimeException rejectRefreshToken(String token) {
+        return refreshTokenRepository.findByToken(token)
+                .<RuntimeException>map(expired -> {
+                    refreshTokenRepository.delete(expired);
+                    return new RefreshTokenExpiredException("Refresh token was expired. Please make a new signin request");
+                })
+                .orElseGet(() -> new RefreshTokenNotFoundException("Refresh Token not found"));
+    }
 
-        return new AuthDto.AuthResponse(jwt, newRefreshToken.getToken());
+    private static Instant refreshTokenExpiry() {
+        return Instant.now().plusSeconds(60 * 60 * 24 * 7); // 7 days
     }
 
+    /**
+     * Deletes the refresh token and revokes every access token already issued to its user, which
+     * would otherwise stay valid until expiry now that requests are authenticated from the token alone.
+     */
     @Transactional
     public void logout(AuthDto.RefreshTokenRequest request) {
         refreshTokenRepository.findByToken(request.getRefreshToken())
-                .ifPresent(refreshTokenRepository::delete);
+                .ifPresent(refreshToken -> {
+                    tokenDenyList.revokeAllFor(refreshToken.getUser().getEmail());
+                    refreshTokenRepository.delete(refreshToken);
+                });
     }
 }
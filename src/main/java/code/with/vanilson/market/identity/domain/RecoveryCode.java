@@ -0,0 +1,33 @@
+package code.with.vanilson.market.identity.domain;
+
+import code.with.vanilson.market.shared.domain.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A single-use 2FA recovery code. Only a keyed hash of the code is stored, and it lives outside the
+ * {@link User} aggregate so loading a user never pulls the codes in.
+ */
+@Entity
+@Table(name = "recovery_codes")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RecoveryCode extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash;
+
+    public static RecoveryCode of(UUID userId, String codeHash) {
+        RecoveryCode recoveryCode = new RecoveryCode();
+        recoveryCode.userId = userId;
+        recoveryCode.codeHash = codeHash;
+        return recoveryCode;
+    }
+}
@@ -0,0 +1,18 @@
+package code.with.vanilson.market.identity.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface RecoveryCodeRepository extends JpaRepository<RecoveryCode, UUID> {
+
+    /**
+     * Verifies and burns a code in one statement; the code was valid exactly when a row was deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM RecoveryCode rc WHERE rc.userId = :userId AND rc.codeHash = :codeHash")
+    int deleteByUserIdAndCodeHash(@Param("userId") UUID userId, @Param("codeHash") String codeHash);
+}
@@ -4,7 +4,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +18,32 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
     void deleteTokensByUser(@Param("user") User user);
+
+    /**
+     * Swaps a live token for a new one in a single statement and returns its owner. Expiry is compared with
+     * the caller's {@code now}, the same application clock {@link RefreshToken#isExpired()} reads, so the
+     * service's expired/not-found diagnosis agrees with this statement. Concurrent refreshes with the same token
+     * serialise on the row, so only the first one gets a user id back. Not {@code @Modifying} because the
+     * RETURNING row has to come back as a result set, hence the explicit read-write transaction.
+     */
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET token = :newToken, expiry_date = :newExpiry " +
+            "WHERE token = :token AND expiry_date > :now RETURNING user_id", nativeQuery = true)
+    Optional<UUID> rotate(@Param("token") String token,
+                          @Param("now") Instant now,
+                          @Param("newToken") String newToken,
+                          @Param("newExpiry") Instant newExpiry);
+
+    /**
+     * Issues the user's refresh token, replacing any previous one through the unique {@code user_id}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (id, user_id, token, expiry_date) " +
+            "VALUES (:id, :userId, :token, :expiry) " +
+            "ON CONFLICT (user_id) DO UPDATE SET token = EXCLUDED.token, expiry_date = EXCLUDED.expiry_date",
+            nativeQuery = true)
+    void upsert(@Param("id") UUID id,
+                @Param("userId") UUID userId,
+                @Param("token") String token,
+                @Param("expiry") Instant expiry);
 }
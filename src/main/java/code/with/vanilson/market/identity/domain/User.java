@@ -1,5 +1,7 @@
 package code.with.vanilson.market.identity.domain;
 
+import code.with.vanilson.market.events.domain.UserCredentialsChangedEvent;
+import code.with.vanilson.market.events.domain.UserPasswordRehashedEvent;
 import code.with.vanilson.market.shared.domain.AggregateRoot;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -32,12 +34,6 @@ public class User extends AggregateRoot {
     @Column(name = "totp_enabled")
     private boolean totpEnabled;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_recovery_codes", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "code")
-    @Builder.Default
-    private Set<String> recoveryCodes = new HashSet<>();
-
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
@@ -48,9 +44,25 @@ public class User extends AggregateRoot {
     public void enableTotp(String secret) {
         this.totpSecret = secret;
         this.totpEnabled = true;
+        registerEvent(new UserCredentialsChangedEvent(email));
     }
 
     public void addRole(Role role) {
-        this.roles.add(role);
+        if (this.roles.add(role)) {
+            registerEvent(new UserCredentialsChangedEvent(email));
+        }
+    }
+
+    public void changePassword(String passwordHash) {
+        this.passwordHash = passwordHash;
+        registerEvent(new UserCredentialsChangedEvent(email));
+    }
+
+    /**
+     * Replaces the hash of the same password, so unlike {@link #changePassword} it leaves issued tokens valid.
+     */
+    public void rehashPassword(String passwordHash) {
+        this.passwordHash = passwordHash;
+        registerEvent(new UserPasswordRehashedEvent(email));
     }
 }
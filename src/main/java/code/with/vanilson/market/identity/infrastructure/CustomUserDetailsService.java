@@ -2,38 +2,98 @@ package code.with.vanilson.market.identity.infrastructure;
 
 import code.with.vanilson.market.identity.domain.User;
 import code.with.vanilson.market.identity.domain.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * Loads users for authentication through a bounded, TTL-expiring in-process cache keyed by email.
+ * Caffeine evicts with W-TinyLFU, so a burst of one-off logins cannot flush the users that authenticate
+ * constantly. Entries are dropped on every node when roles, 2FA or the password hash change, and hit, miss
+ * and eviction counts are exported as {@code cache.*} metrics tagged {@code cache=users.details}.
+ */
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    /** Redis channel carrying the email of a user whose cached details are stale. */
+    public static final String INVALIDATION_CHANNEL = "identity.user-details.invalidate";
 
     private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.details");
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // A fresh UserDetails per call: Spring Security erases the password on the instance it authenticates
+        return cache.get(email, this::load).toUserDetails();
+    }
+
+    /**
+     * Stores a password re-hashed at the current BCrypt cost; called after a successful login. The password
+     * itself is unchanged, so the user's other sessions stay signed in.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.rehashPassword(newPassword);
+        userRepository.save(user);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    private CachedUser load(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPasswordHash())
-                .authorities(user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                        .collect(Collectors.toList()))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return new CachedUser(user.getEmail(), user.getPasswordHash(), user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList());
+    }
+
+    private record CachedUser(String email, String passwordHash, List<SimpleGrantedAuthority> authorities) {
+
+        UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User
+                    .withUsername(email)
+                    .password(passwordHash)
+                    .authorities(authorities)
+                    .accountExpired(false)
+                    .accountLocked(false)
+                    .credentialsExpired(false)
+                    .disabled(false)
+                    .build();
+        }
     }
 }
@@ -1,12 +1,17 @@
 package code.with.vanilson.market.identity.infrastructure;
 
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,16 +19,34 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Where the authenticated principal comes from. {@code TOKEN} rebuilds it from the signed
+     * {@code roles} claim with no I/O; {@code DATABASE} reloads the user on every request.
+     */
+    public enum PrincipalSource {
+        TOKEN,
+        DATABASE
+    }
+
     private final JwtProvider jwtProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
+    private final PrincipalSource principalSource;
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider,
+                                   UserDetailsService userDetailsService,
+                                   TokenDenyList tokenDenyList,
+                                   @Value("${app.security.principal-source:TOKEN}") PrincipalSource principalSource) {
         this.jwtProvider = jwtProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenDenyList = tokenDenyList;
+        this.principalSource = principalSource;
     }
 
     @Override
@@ -42,10 +65,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        if (jwtProvider.validateToken(jwt)) {
-            userEmail = jwtProvider.extractUsername(jwt);
+        Optional<Claims> claims = jwtProvider.parseClaims(jwt).filter(c -> !tokenDenyList.isRevoked(c));
+        if (claims.isPresent()) {
+            userEmail = claims.get().getSubject();
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = principalSource == PrincipalSource.DATABASE
+                        ? this.userDetailsService.loadUserByUsername(userEmail)
+                        : principalFrom(claims.get());
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -53,9 +79,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            request.setAttribute(TenantContext.TENANT_ID, claims.get().get(JwtProvider.TENANT_ID_CLAIM, String.class));
             logger.info("Bearer token found in request");
         }
         logger.info("No Bearer token found in request");
         filterChain.doFilter(request, response);
     }
+
+    private static UserDetails principalFrom(Claims claims) {
+        List<?> roles = claims.get(JwtProvider.ROLES_CLAIM, List.class);
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(roles == null ? List.of() : roles.stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList())
+                .build();
+    }
 }
@@ -3,6 +3,7 @@ package code.with.vanilson.market.identity.infrastructure;
 import code.with.vanilson.market.identity.domain.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -17,57 +18,64 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtProvider {
 
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TENANT_ID_CLAIM = "tenantId";
+
     private static final Logger logger = LoggerFactory.getLogger(JwtProvider.class);
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final long jwtExpirationMs;
+
+    // Decoded once; the parser is immutable and safe to share across request threads
+    private final Key signInKey;
+    private final JwtParser parser;
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMs;
+    public JwtProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                       @Value("${app.jwt.expiration}") long jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
 
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", user.getRoles());
-        claims.put("tenantId", user.getTenantId());
+        claims.put(ROLES_CLAIM, user.getRoles());
+        claims.put(TENANT_ID_CLAIM, user.getTenantId());
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies the signature and expiry and returns the claims, parsing the token exactly once.
+     * Returns empty for any token that is malformed, tampered with or expired.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return parseClaims(token).isPresent();
     }
 }
@@ -0,0 +1,40 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Hashes recovery codes as HMAC-SHA256, keyed with a server secret, over the SHA-256 of the code.
+ * The result is deterministic, so a code is still verified and burned with one indexed DELETE, but a
+ * leaked {@code recovery_codes} table can no longer be brute-forced without the secret. Hashing the
+ * SHA-256 rather than the code lets V12 upgrade the unkeyed hashes stored before.
+ */
+@Component
+public class RecoveryCodeHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public RecoveryCodeHasher(@Value("${app.security.recovery-code.secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String hash(String code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(digest));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Recovery code hashing not available", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes expired refresh tokens in the background; otherwise they would only go when someone presents them.
+ *
+ * <p>Rows go in chunks of {@code chunk-size}, each its own autocommitted statement, with a pause in between
+ * so the job never holds long locks or floods the WAL. The whole run holds a session-level Postgres advisory
+ * lock, so when several instances fire at once only one of them purges.
+ */
+@Component
+@Slf4j
+public class RefreshTokenReaper {
+
+    private static final long LOCK_KEY = "refresh-token-reaper".hashCode();
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM refresh_tokens
+            WHERE ctid IN (SELECT ctid FROM refresh_tokens WHERE expiry_date < now() LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final Counter purged;
+    private final Timer duration;
+
+    public RefreshTokenReaper(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.security.token-reaper.chunk-size:5000}") int chunkSize,
+                              @Value("${app.security.token-reaper.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.purged = Counter.builder("identity.refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the reaper")
+                .register(meterRegistry);
+        this.duration = Timer.builder("identity.refresh_tokens.purge")
+                .description("Time taken by a refresh token purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.security.token-reaper.initial-delay-ms:60000}",
+            fixedDelayString = "${app.security.token-reaper.interval-ms:600000}")
+    public void purgeExpired() {
+        // Outside any transaction the routing data source hands out a primary connection
+        Long deleted = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!tryLock(connection)) {
+                log.debug("Refresh token purge already running on another instance");
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                return purge(connection);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                unlock(connection);
+            }
+        });
+
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private long purge(Connection connection) throws SQLException, InterruptedException {
+        long total = 0;
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_CHUNK_SQL)) {
+            // Compared with now() in the session zone, the same zone Hibernate writes expiry_date in
+            delete.setInt(1, chunkSize);
+            int deleted;
+            do {
+                deleted = delete.executeUpdate();
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted == chunkSize && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            } while (deleted == chunkSize);
+        }
+        return total;
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            lock.setLong(1, LOCK_KEY);
+            try (ResultSet rs = lock.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            unlock.setLong(1, LOCK_KEY);
+            unlock.execute();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.events.domain.UserCredentialsChangedEvent;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens, checked from memory so that stateless authentication stays free of I/O.
+ * A single token is revoked by its id ({@code jti}); all of a user's tokens are revoked at once by
+ * raising the user's epoch, which rejects anything issued before it. Entries are dropped as soon as
+ * the tokens they cover would have expired anyway, so the list stays small.
+ *
+ * <p>Every revocation is also written to Redis under {@code identity:deny:*} with a TTL matching the
+ * tokens it covers, and published on {@link #REVOKED_CHANNEL} so the other nodes apply it at once.
+ * A node loads the stored entries when it starts, so it does not accept tokens revoked before it joined.
+ */
+@Component
+@Slf4j
+public class TokenDenyList implements MessageListener {
+
+    /** Redis channel carrying {@code <key>=<value>} for every revocation. */
+    public static final String REVOKED_CHANNEL = "identity.tokens.revoked";
+
+    private static final String TOKEN_KEY_PREFIX = "identity:deny:jti:";
+    private static final String USER_KEY_PREFIX = "identity:deny:user:";
+
+    // jti -> expiry (epoch millis) of the revoked token
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // subject -> epoch second before which every token of that user is rejected
+    private final Map<String, Long> userEpochs = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final long tokenLifetimeMs;
+
+    public TokenDenyList(StringRedisTemplate redisTemplate,
+                         @Value("${app.jwt.expiration}") long tokenLifetimeMs) {
+        this.redisTemplate = redisTemplate;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        long expiry = claims.getExpiration().getTime();
+        revokedTokens.merge(claims.getId(), expiry, Math::max);
+        share(TOKEN_KEY_PREFIX + claims.getId(), expiry, Duration.ofMillis(expiry - System.currentTimeMillis()));
+    }
+
+    public void revokeAllFor(String subject) {
+        long epoch = Instant.now().getEpochSecond();
+        userEpochs.merge(subject, epoch, Math::max);
+        share(USER_KEY_PREFIX + subject, epoch, Duration.ofMillis(tokenLifetimeMs));
+    }
+
+    /**
+     * Roles, 2FA and the password are all baked into issued tokens, so a change to any of them
+     * revokes the tokens the user already holds.
+     */
+    @TransactionalEventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        revokeAllFor(event.getEmail());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.containsKey(claims.getId())) {
+            return true;
+        }
+        Long epoch = userEpochs.get(claims.getSubject());
+        return epoch != null && claims.getIssuedAt() != null
+                && claims.getIssuedAt().toInstant().getEpochSecond() < epoch;
+    }
+
+    /**
+     * Loads the revocations other nodes stored before this one started listening.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match("identity:deny:*").count(1000).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (keys.isEmpty()) {
+                return;
+            }
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                if (values != null && values.get(i) != null) {
+                    apply(keys.get(i), Long.parseLong(values.get(i)));
+                }
+            }
+            log.info("Loaded {} token revocations", keys.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load token revocations; only those broadcast from now on will apply", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('=');
+        if (separator > 0) {
+            apply(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.deny-list.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiry -> expiry < now);
+        userEpochs.values().removeIf(epoch -> epoch * 1000 + tokenLifetimeMs < now);
+    }
+
+    int size() {
+        return revokedTokens.size() + userEpochs.size();
+    }
+
+    private void apply(String key, long value) {
+        if (key.startsWith(TOKEN_KEY_PREFIX)) {
+            revokedTokens.merge(key.substring(TOKEN_KEY_PREFIX.length()), value, Math::max);
+        } else if (key.startsWith(USER_KEY_PREFIX)) {
+            userEpochs.merge(key.substring(USER_KEY_PREFIX.length()), value, Math::max);
+        }
+    }
+
+    private void share(String key, long value, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, Long.toString(value), ttl);
+            redisTemplate.convertAndSend(REVOKED_CHANNEL, key + "=" + value);
+        } catch (RuntimeException e) {
+            // The revocation still holds on this node until the covered tokens expire
+            log.warn("Failed to share token revocation {}", key, e);
+        }
+    }
+}
@@ -1,103 +1,138 @@
 package code.with.vanilson.market.identity.infrastructure;
 
 import org.apache.commons.codec.binary.Base32;
-import org.apache.commons.codec.binary.Hex;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
 import java.security.SecureRandom;
 
+/**
+ * RFC 6238 TOTP (HMAC-SHA1, 30 second steps, 6 digits). Verification works on the decoded key bytes,
+ * feeds the counter straight into a per-thread {@link Mac} and compares the submitted code as an int,
+ * checking every step in the drift window so the time taken does not depend on which step matched.
+ */
 @Component
 public class TotpUtils {
 
+    private static final String ALGORITHM = "HmacSHA1";
+    private static final long TIME_STEP_SECONDS = 30;
+    private static final int CODE_DIGITS = 6;
+    private static final int CODE_MODULUS = 1_000_000;
+
+    private static final Base32 BASE32 = new Base32();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC algorithm not available: " + ALGORITHM, e);
+        }
+    });
+    private static final ThreadLocal<byte[]> HASH = ThreadLocal.withInitial(() -> new byte[20]);
+
+    private final int window;
+
+    public TotpUtils(@Value("${app.security.totp.window:1}") int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("TOTP window must not be negative");
+        }
+        this.window = window;
+    }
+
     public String generateSecretKey() {
-        SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[20];
-        random.nextBytes(bytes);
-        Base32 base32 = new Base32();
-        return base32.encodeToString(bytes);
+        RANDOM.nextBytes(bytes);
+        return BASE32.encodeToString(bytes);
     }
 
     public String getTOTPCode(String secretKey) {
-        Base32 base32 = new Base32();
-        byte[] bytes = base32.decode(secretKey);
-        String hexKey = Hex.encodeHexString(bytes);
-        long time = (System.currentTimeMillis() / 1000) / 30;
-        String hexTime = Long.toHexString(time);
-        while (hexTime.length() < 16) {
-            hexTime = "0" + hexTime;
+        Mac mac = init(BASE32.decode(secretKey));
+        int code = generate(mac, currentStep(System.currentTimeMillis() / 1000));
+        char[] digits = new char[CODE_DIGITS];
+        for (int i = CODE_DIGITS - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + code % 10);
+            code /= 10;
         }
-        return getTOTP(hexKey, hexTime);
+        return new String(digits);
     }
 
     public boolean verifyCode(String secretKey, String code) {
-        String generatedCode = getTOTPCode(secretKey);
-        return generatedCode.equals(code);
+        return verifyCode(secretKey, code, System.currentTimeMillis() / 1000);
     }
 
-    private String getTOTP(String key, String time) {
-        return totp(key, time, "6", "HmacSHA1");
+    boolean verifyCode(String secretKey, String code, long epochSeconds) {
+        int submitted = parseCode(code);
+        if (submitted < 0 || secretKey == null) {
+            return false;
+        }
+        byte[] key = BASE32.decode(secretKey);
+        if (key.length == 0) {
+            return false;
+        }
+        Mac mac = init(key);
+        long step = currentStep(epochSeconds);
+        boolean matched = false;
+        for (long counter = step - window; counter <= step + window; counter++) {
+            matched |= (generate(mac, counter) ^ submitted) == 0;
+        }
+        return matched;
     }
 
-    // Simplified TOTP implementation reference from RFC 6238
-    // In production, consider using a library like Google Auth or similar if robust
-    // features needed
-    // But for scaffold we implement the core HMAC SHA1 logic
-    private String totp(String key, String time, String returnDigits, String crypto) {
-        int codeDigits = Integer.decode(returnDigits);
-        String result = null;
-
-        // Using the counter
-        // First 8 bytes are for the movingFactor
-        // Compliant with base RFC 4226 (HOTP)
-        while (time.length() < 16)
-            time = "0" + time;
-
-        // Get the HEX in a Byte[]
-        byte[] msg = hexStr2Bytes(time);
-        byte[] k = hexStr2Bytes(key);
-
-        byte[] hash = hmac_sha(crypto, k, msg);
-
-        // put selected bytes into result int
-        int offset = hash[hash.length - 1] & 0xf;
-
-        int binary = ((hash[offset] & 0x7f) << 24) |
-                ((hash[offset + 1] & 0xff) << 16) |
-                ((hash[offset + 2] & 0xff) << 8) |
-                (hash[offset + 3] & 0xff);
-
-        int otp = binary % ((int) Math.pow(10, codeDigits));
+    private static long currentStep(long epochSeconds) {
+        return epochSeconds / TIME_STEP_SECONDS;
+    }
 
-        result = Integer.toString(otp);
-        while (result.length() < codeDigits) {
-            result = "0" + result;
+    /**
+     * Parses a six digit code without going through {@link Integer#parseInt}, returning -1 when it is malformed.
+     */
+    private static int parseCode(String code) {
+        if (code == null || code.length() != CODE_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < CODE_DIGITS; i++) {
+            int digit = code.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
         }
-        return result;
+        return value;
     }
 
-    private byte[] hmac_sha(String crypto, byte[] keyBytes, byte[] text) {
+    private static Mac init(byte[] key) {
+        Mac mac = MAC.get();
         try {
-            Mac hmac;
-            hmac = Mac.getInstance(crypto);
-            SecretKeySpec macKey = new SecretKeySpec(keyBytes, "RAW");
-            hmac.init(macKey);
-            return hmac.doFinal(text);
-        } catch (Exception gse) {
-            throw new RuntimeException("Problem calculating HMAC", gse);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException("Problem initialising HMAC", e);
         }
+        return mac;
     }
 
-    private byte[] hexStr2Bytes(String hex) {
-        // Adding one byte to get the right conversion
-        // Values starting with "0" can be converted
-        byte[] bArray = new java.math.BigInteger("10" + hex, 16).toByteArray();
+    // HOTP dynamic truncation from RFC 4226, section 5.3; doFinal resets the Mac but keeps its key
+    private static int generate(Mac mac, long counter) {
+        byte[] hash = HASH.get();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            mac.update((byte) (counter >>> shift));
+        }
+        try {
+            mac.doFinal(hash, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException("Problem calculating HMAC", e);
+        }
 
-        // Copy all the REAL bytes, not the "first"
-        byte[] ret = new byte[bArray.length - 1];
-        for (int i = 0; i < ret.length; i++)
-            ret[i] = bArray[i + 1];
-        return ret;
+        int offset = hash[hash.length - 1] & 0xf;
+        int binary = ((hash[offset] & 0x7f) << 24) |
+                ((hash[offset + 1] & 0xff) << 16) |
+                ((hash[offset + 2] & 0xff) << 8) |
+                (hash[offset + 3] & 0xff);
+        return binary % CODE_MODULUS;
     }
 }
@@ -0,0 +1,52 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.events.domain.UserCredentialsChangedEvent;
+import code.with.vanilson.market.events.domain.UserPasswordRehashedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps every node's {@link CustomUserDetailsService} cache coherent. Once a change to a user commits,
+ * its email is published on {@link CustomUserDetailsService#INVALIDATION_CHANNEL} and each subscribed
+ * node evicts the entry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserDetailsCacheInvalidator implements MessageListener {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    @TransactionalEventListener
+    public void onPasswordRehashed(UserPasswordRehashedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    private void invalidate(String email) {
+        userDetailsService.evict(email);
+        try {
+            redisTemplate.convertAndSend(CustomUserDetailsService.INVALIDATION_CHANNEL, email);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the cache TTL
+            log.warn("Failed to broadcast user details invalidation for {}", email, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        userDetailsService.evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -1,60 +1,105 @@
 package code.with.vanilson.market.infrastructure;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
+import java.util.Properties;
+
+/**
+ * Topic layout. Every topic gets {@code app.kafka.default-partitions} partitions unless
+ * {@code app.kafka.topics.<name>.partitions} overrides it. Events are keyed by aggregate id,
+ * so adding partitions spreads load without breaking per-entity ordering.
+ */
 @Configuration
 public class KafkaConfig {
 
+    private final Environment environment;
+
+    public KafkaConfig(Environment environment) {
+        this.environment = environment;
+    }
+
     @Bean
     public NewTopic orderPlacedTopic() {
-        return TopicBuilder.name("orders.placed").partitions(1).replicas(1).build();
+        return topic("orders.placed");
     }
 
     @Bean
     public NewTopic orderCancelledTopic() {
-        return TopicBuilder.name("orders.cancelled").partitions(1).replicas(1).build();
+        return topic("orders.cancelled");
     }
 
     @Bean
     public NewTopic orderSettledTopic() {
-        return TopicBuilder.name("orders.settled").partitions(1).replicas(1).build();
+        return topic("orders.settled");
     }
 
     @Bean
     public NewTopic paymentCapturedTopic() {
-        return TopicBuilder.name("payments.captured").partitions(1).replicas(1).build();
+        return topic("payments.captured");
     }
 
     @Bean
     public NewTopic paymentFailedTopic() {
-        return TopicBuilder.name("payments.failed").partitions(1).replicas(1).build();
+        return topic("payments.failed");
     }
 
     @Bean
     public NewTopic paymentHoldTopic() {
-        return TopicBuilder.name("payments.hold_requested").partitions(1).replicas(1).build();
+        return topic("payments.hold_requested");
     }
 
     @Bean
     public NewTopic promotionRedeemedTopic() {
-        return TopicBuilder.name("promotions.redeemed").partitions(1).replicas(1).build();
+        return topic("promotions.redeemed");
     }
 
     @Bean
     public NewTopic notificationSentTopic() {
-        return TopicBuilder.name("notifications.sent").partitions(1).replicas(1).build();
+        return topic("notifications.sent");
     }
 
     @Bean
     public NewTopic userRegisteredTopic() {
-        return TopicBuilder.name("user.registered").partitions(1).replicas(1).build();
+        return topic("user.registered");
     }
 
     @Bean
     public NewTopic auditEventsTopic() {
-        return TopicBuilder.name("audit.events").partitions(1).replicas(1).build();
+        return topic("audit.events");
+    }
+
+    /**
+     * Delivers each poll as one list. Offsets are committed once the listener returns, so a
+     * batch whose transaction fails is redelivered rather than partially acknowledged.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                environment.getProperty("app.kafka.batch.max-poll-records", "500"));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
+
+    private NewTopic topic(String name) {
+        int defaultPartitions = environment.getProperty("app.kafka.default-partitions", Integer.class, 6);
+        return TopicBuilder.name(name)
+                .partitions(environment.getProperty("app.kafka.topics." + name + ".partitions", Integer.class, defaultPartitions))
+                .replicas(environment.getProperty("app.kafka.replicas", Integer.class, 1))
+                .build();
     }
 }
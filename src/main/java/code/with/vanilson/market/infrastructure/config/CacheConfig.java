@@ -0,0 +1,74 @@
+package code.with.vanilson.market.infrastructure.config;
+
+import code.with.vanilson.market.customers.api.CustomerDto;
+import code.with.vanilson.market.payments.api.PaymentDto;
+import code.with.vanilson.market.shared.infrastructure.cache.TwoTierCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backs the {@code @Cacheable} caches with a per-node Caffeine tier in front of Redis. Every cache is
+ * declared here with its value type: Redis entries are written as typed Smile (binary JSON) rather than
+ * JDK serialization, and a cache name missing from this list fails fast instead of being created untyped.
+ * Entries live for {@code app.cache.ttl-seconds.<name>} in Redis and at most {@code app.cache.local.ttl-seconds}
+ * in the local tier.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final Map<String, Class<?>> CACHE_TYPES = Map.of(
+            "customers", CustomerDto.Response.class,
+            "payments", PaymentDto.Response.class,
+            "paymentByOrderId", PaymentDto.Response.class);
+
+    private static final long DEFAULT_TTL_SECONDS = 600;
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate redisTemplate,
+                                            MeterRegistry meterRegistry,
+                                            Environment environment,
+                                            @Value("${app.cache.local.max-size:10000}") long localMaxSize,
+                                            @Value("${app.cache.local.ttl-seconds:30}") long localTtlSeconds) {
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        CACHE_TYPES.forEach((name, type) -> configurations.put(name, RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(environment.getProperty(
+                        "app.cache.ttl-seconds." + name, Long.class, DEFAULT_TTL_SECONDS)))
+                .disableCachingNullValues()
+                .computePrefixWith(cacheName -> "cache:" + cacheName + ":")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(smileMapper, type)))));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .withInitialCacheConfigurations(configurations)
+                .disableCreateOnMissingCache()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS)
+                .recordStats();
+        return new TwoTierCacheManager(redisCacheManager, localSpec, redisTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package code.with.vanilson.market.infrastructure.config;
+
+import code.with.vanilson.market.identity.infrastructure.CustomUserDetailsService;
+import code.with.vanilson.market.identity.infrastructure.TokenDenyList;
+import code.with.vanilson.market.identity.infrastructure.UserDetailsCacheInvalidator;
+import code.with.vanilson.market.products.infrastructure.ProductCatalog;
+import code.with.vanilson.market.products.infrastructure.ProductCatalogInvalidator;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndexUpdater;
+import code.with.vanilson.market.shared.infrastructure.cache.TwoTierCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       UserDetailsCacheInvalidator userDetailsCacheInvalidator,
+                                                                       TokenDenyList tokenDenyList,
+                                                                       ProductCatalogInvalidator productCatalogInvalidator,
+                                                                       CouponIndexUpdater couponIndexUpdater,
+                                                                       TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userDetailsCacheInvalidator,
+                new ChannelTopic(CustomUserDetailsService.INVALIDATION_CHANNEL));
+        container.addMessageListener(tokenDenyList, new ChannelTopic(TokenDenyList.REVOKED_CHANNEL));
+        container.addMessageListener(productCatalogInvalidator,
+                new ChannelTopic(ProductCatalog.INVALIDATION_CHANNEL));
+        container.addMessageListener(couponIndexUpdater, new ChannelTopic(CouponIndex.CREATED_CHANNEL));
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
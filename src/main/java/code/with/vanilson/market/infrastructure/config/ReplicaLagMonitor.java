@@ -0,0 +1,66 @@
+package code.with.vanilson.market.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replay lag. The replica is only used while it answers, is actually
+ * in recovery (a standalone server is never treated as a replica) and lags by at most
+ * {@code app.datasource.replica.max-lag-ms}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // An idle primary leaves the replay timestamp behind, so a fully replayed WAL counts as no lag
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN NULL
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+    private volatile boolean replicaUsable;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagMs).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.replicaUsable ? 1 : 0).register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        boolean usable;
+        try {
+            Long lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Long.class);
+            lagMs = lag == null ? -1 : lag;
+            usable = lag != null && lag <= maxLagMs;
+        } catch (DataAccessException e) {
+            lagMs = -1;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Read replica unreachable: {}", e.getMessage());
+            }
+        }
+
+        if (usable != replicaUsable) {
+            log.info(usable ? "Routing read-only transactions to the replica"
+                    : "Routing read-only transactions to the primary (replica lag {} ms)", lagMs);
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,51 @@
+package code.with.vanilson.market.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica pool and
+ * everything else to the primary. Reads fall back to the primary while {@link ReplicaLagMonitor}
+ * reports the replica as lagging or unreachable.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryRoutes = meterRegistry.counter("datasource.routing", "route", "primary");
+        this.replicaRoutes = meterRegistry.counter("datasource.routing", "route", "replica");
+        this.fallbackRoutes = meterRegistry.counter("datasource.routing", "route", "replica_fallback");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbackRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,52 @@
+package code.with.vanilson.market.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt cost factor for the hardware the service runs on: the highest cost whose hash still
+ * completes within the target time, never going below {@link #MIN_STRENGTH}.
+ */
+@Slf4j
+final class BCryptCostCalibrator {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    static int calibrate(long targetMillis) {
+        // Warm up the JIT so the first timed strength is not penalised
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int strength = MIN_STRENGTH;
+        for (int candidate = MIN_STRENGTH; candidate <= MAX_STRENGTH; candidate++) {
+            long millis = medianHashMillis(candidate);
+            log.info("BCrypt cost {} takes {} ms", candidate, millis);
+            if (millis > targetMillis) {
+                break;
+            }
+            strength = candidate;
+        }
+        log.info("Calibrated BCrypt cost {} for a {} ms target", strength, targetMillis);
+        return strength;
+    }
+
+    private static long medianHashMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -4,6 +4,7 @@ import code.with.vanilson.market.identity.infrastructure.CustomUserDetailsServic
 import code.with.vanilson.market.identity.infrastructure.JwtAuthenticationFilter;
 import code.with.vanilson.market.shared.infrastructure.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,7 +37,8 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
@@ -47,18 +49,21 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(idempotencyFilter, JwtAuthenticationFilter.class);
+                // After the JWT filter, so idempotency keys can be scoped to the caller's tenant and principal
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hashes the password on a successful login when it was stored with a lower cost
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -89,8 +94,17 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt at the configured cost, or at the cost calibrated to {@code calibrate-target-ms} when that is set,
+     * hashed on its own bounded pool so sign-in bursts cannot take every servlet thread's CPU.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.strength:10}") int strength,
+                                           @Value("${app.security.password.calibrate-target-ms:0}") long calibrateTargetMs,
+                                           @Value("${app.security.password.hashing-threads:0}") int hashingThreads,
+                                           @Value("${app.security.password.queue-capacity:64}") int queueCapacity) {
+        int cost = calibrateTargetMs > 0 ? BCryptCostCalibrator.calibrate(calibrateTargetMs) : strength;
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), threads, queueCapacity);
     }
 }
@@ -18,7 +18,8 @@ public class NotificationConsumer {
     private final NotificationLogRepository repository;
     private final NotificationSender notificationSender;
 
-    @KafkaListener(topics = "orders.placed", groupId = "market-group")
+    @KafkaListener(topics = "orders.placed", groupId = "market-group",
+            concurrency = "${app.kafka.listener-concurrency:6}")
     public void handleOrderPlaced(String orderEventJson) {
         log.info("Received order placed event: {}", orderEventJson);
 
@@ -1,11 +1,13 @@
 package code.with.vanilson.market.orders.api;
 
 import code.with.vanilson.market.orders.application.OrderService;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,8 +40,20 @@ public class OrderController {
             @ApiResponse(responseCode = "404", description = "Order not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDto.Response> getOrder(@PathVariable UUID id) {
-        return ResponseEntity.ok(orderService.getOrder(id));
+    public ResponseEntity<OrderDto.Response> getOrder(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @PathVariable UUID id) {
+        return ResponseEntity.ok(orderService.getOrder(tenantId, id));
+    }
+
+    @Operation(summary = "Get customer orders", description = "Retrieves a customer's most recent orders, newest first.")
+    @ApiResponse(responseCode = "200", description = "Orders retrieved successfully")
+    @GetMapping
+    public ResponseEntity<List<OrderDto.Response>> getCustomerOrders(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @RequestParam UUID customerId,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getCustomerOrders(tenantId, customerId, size));
     }
 
     @Operation(summary = "Cancel order", description = "Cancels a pending order and releases allocated inventory.")
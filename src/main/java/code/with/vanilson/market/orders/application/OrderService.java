@@ -7,28 +7,35 @@ import code.with.vanilson.market.orders.domain.Order;
 import code.with.vanilson.market.orders.domain.OrderItem;
 import code.with.vanilson.market.orders.domain.OrderRepository;
 import code.with.vanilson.market.orders.domain.OrderStatus;
-import code.with.vanilson.market.products.domain.Product;
-import code.with.vanilson.market.products.domain.ProductRepository;
-import code.with.vanilson.market.promotions.domain.Coupon;
-import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.products.application.ProductService;
+import code.with.vanilson.market.products.domain.CatalogEntry;
+import code.with.vanilson.market.promotions.application.CouponRedemptionService;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.OrderPlacedEvent;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
-    private final ProductRepository productRepository;
-    private final CouponRepository couponRepository;
+    private final ProductService productService;
+    private final CouponIndex couponIndex;
+    private final CouponRedemptionService couponRedemptionService;
     private final EventProducer eventProducer;
 
     @Transactional
@@ -45,39 +52,54 @@ public class OrderService {
                 .createdAt(Instant.now())
                 .build();
 
+        // Prices and SKUs come from the catalog; products it does not hold are loaded in one round trip
+        Map<UUID, Integer> quantities = request.getItems().stream()
+                .collect(Collectors.toMap(OrderDto.OrderItemRequest::getProductId,
+                        OrderDto.OrderItemRequest::getQuantity, Integer::sum));
+        Map<UUID, CatalogEntry> products = productService.getCatalogEntries(quantities.keySet());
+
         // Process Items
         for (OrderDto.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new DomainException("Product not found: " + itemRequest.getProductId()));
-
-            // Domain Logic: Decrease Inventory
-            product.decreaseInventory(itemRequest.getQuantity());
-            productRepository.save(product);
+            CatalogEntry product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new DomainException("Product not found: " + itemRequest.getProductId());
+            }
 
             OrderItem orderItem = OrderItem.builder()
-                    .productId(product.getId())
-                    .sku(product.getSku())
+                    .productId(product.id())
+                    .sku(product.sku())
                     .quantity(itemRequest.getQuantity())
-                    .unitPrice(product.getPrice())
+                    .unitPrice(product.price())
                     .build();
 
             order.addItem(orderItem);
         }
 
+        // Reserve stock for the whole cart in one step; no product is ever oversold
+        if (!productService.reserveInventory(quantities)) {
+            throw new DomainException("Insufficient inventory");
+        }
+
         // Apply Coupon if present
+        CouponIndex.Entry coupon = null;
         if (request.getCouponCode() != null && !request.getCouponCode().isBlank()) {
-            Coupon coupon = couponRepository.findByCode(request.getCouponCode())
+            coupon = couponIndex.findByCode(request.getCouponCode())
                     .orElseThrow(() -> new DomainException("Invalid coupon code"));
 
-            if (!coupon.isValid()) {
+            if (!couponIndex.isValid(coupon)) {
                 throw new DomainException("Coupon is expired or inactive");
             }
 
-            order.applyCoupon(coupon.getCode(), coupon.getDiscount());
+            order.applyCoupon(coupon.code(), coupon.discount());
         }
 
         order = orderRepository.save(order);
 
+        // Takes a slot under the coupon's caps; a rejection rolls the whole order back
+        if (coupon != null) {
+            couponRedemptionService.redeem(coupon, order.getCustomerId(), order.getId());
+        }
+
         // Publish Rich Event
         eventProducer.publish("orders.placed", OrderPlacedEvent.builder()
                 .orderId(order.getId())
@@ -96,7 +118,12 @@ public class OrderService {
 
         order.cancel();
         orderRepository.save(order);
-        eventProducer.publish("orders.cancelled", "Order cancelled: " + orderId);
+        eventProducer.publishAsync("orders.cancelled", orderId.toString(), "Order cancelled: " + orderId)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Failed to publish cancellation of order {}", orderId, ex);
+                    }
+                });
     }
 
     @Transactional
@@ -105,16 +132,28 @@ public class OrderService {
                 .orElseThrow(() -> new DomainException("Order not found"));
 
         // Simplified Logic
-        eventProducer.publish("orders.settled", "Order settled: " + orderId);
+        eventProducer.publish("orders.settled", orderId.toString(), "Order settled: " + orderId);
         // Maybe update status to SHIPPED or CONFIRMED
     }
 
-    public OrderDto.Response getOrder(UUID id) {
-        Order order = orderRepository.findById(id)
+    @Transactional(readOnly = true)
+    public OrderDto.Response getOrder(String tenantId, UUID id) {
+        Order order = orderRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new DomainException("Order not found"));
         return mapToResponse(order);
     }
 
+    /**
+     * Returns a customer's most recent orders, newest first, capped at {@link CursorPage#MAX_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderDto.Response> getCustomerOrders(String tenantId, UUID customerId, Integer size) {
+        return orderRepository.findByTenantIdAndCustomerIdOrderByCreatedAtDesc(
+                        tenantId, customerId, Limit.of(CursorPage.pageSize(size))).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     private OrderDto.Response mapToResponse(Order order) {
         OrderDto.Response response = new OrderDto.Response();
         response.setId(order.getId());
@@ -1,7 +1,18 @@
 package code.with.vanilson.market.orders.domain;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
+
+    Optional<Order> findByTenantIdAndId(String tenantId, UUID id);
+
+    /**
+     * A customer's most recent orders, read in index order from {@code (tenant_id, customer_id, created_at)}.
+     */
+    List<Order> findByTenantIdAndCustomerIdOrderByCreatedAtDesc(String tenantId, UUID customerId, Limit limit);
 }
@@ -1,47 +1,84 @@
 package code.with.vanilson.market.orders.infrastructure;
 
+import code.with.vanilson.market.orders.domain.Order;
 import code.with.vanilson.market.orders.domain.OrderRepository;
 import code.with.vanilson.market.shared.domain.PaymentEvents;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Applies payment outcomes to orders one poll at a time. Each batch loads every affected order
+ * in a single query and the status changes are flushed as one JDBC batch on commit; offsets are
+ * committed only after the transaction succeeds, so a failed batch is redelivered as a whole.
+ * A record that is not the expected event is logged and skipped, so it cannot fail the rest of its poll.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventConsumer {
 
     private final OrderRepository orderRepository;
-    private final ObjectMapper objectMapper;
 
-    @KafkaListener(topics = "payments.captured", groupId = "orders-group")
+    @KafkaListener(topics = "payments.captured", groupId = "orders-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.listener-concurrency:6}")
     @Transactional
-    public void handlePaymentCaptured(PaymentEvents.PaymentCapturedEvent event) {
-        log.info("Payment captured for Order: {}", event.getOrderId());
-        updateOrderStatus(event.getOrderId(), true);
+    public void handlePaymentCaptured(List<Object> records) {
+        Set<UUID> orderIds = new HashSet<>();
+        for (PaymentEvents.PaymentCapturedEvent event : eventsOf(records, PaymentEvents.PaymentCapturedEvent.class)) {
+            orderIds.add(event.getOrderId());
+        }
+        log.info("Payment captured for {} orders", orderIds.size());
+        updateOrderStatus(orderIds, true);
     }
 
-    @KafkaListener(topics = "payments.failed", groupId = "orders-group")
+    @KafkaListener(topics = "payments.failed", groupId = "orders-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${app.kafka.listener-concurrency:6}")
     @Transactional
-    public void handlePaymentFailed(PaymentEvents.PaymentFailedEvent event) {
-        log.warn("Payment failed for Order: {}. Reason: {}", event.getOrderId(), event.getReason());
-        updateOrderStatus(event.getOrderId(), false);
+    public void handlePaymentFailed(List<Object> records) {
+        Set<UUID> orderIds = new HashSet<>();
+        for (PaymentEvents.PaymentFailedEvent event : eventsOf(records, PaymentEvents.PaymentFailedEvent.class)) {
+            log.warn("Payment failed for Order: {}. Reason: {}", event.getOrderId(), event.getReason());
+            orderIds.add(event.getOrderId());
+        }
+        updateOrderStatus(orderIds, false);
     }
 
-    private void updateOrderStatus(UUID orderId, boolean paid) {
-        orderRepository.findById(orderId).ifPresent(order -> {
+    private static <T> List<T> eventsOf(List<Object> records, Class<T> type) {
+        List<T> events = new ArrayList<>(records.size());
+        for (Object record : records) {
+            if (type.isInstance(record)) {
+                events.add(type.cast(record));
+            } else {
+                log.warn("Skipping {} record on a {} topic", record == null ? "null" : record.getClass().getSimpleName(),
+                        type.getSimpleName());
+            }
+        }
+        return events;
+    }
+
+    private void updateOrderStatus(Set<UUID> orderIds, boolean paid) {
+        // An event without an order id has nothing to update and would fail the batch lookup
+        orderIds.remove(null);
+        List<Order> orders = orderRepository.findAllById(orderIds);
+        for (Order order : orders) {
             if (paid) {
                 order.confirmPayment();
             } else {
                 order.cancel();
             }
-            orderRepository.save(order);
-            log.info("Updated order {} status to {}", orderId, order.getStatus());
-        });
+        }
+        orderRepository.saveAll(orders);
+        log.info("Updated status of {} of {} orders to {}", orders.size(), orderIds.size(), paid ? "PAID" : "CANCELLED");
     }
 }
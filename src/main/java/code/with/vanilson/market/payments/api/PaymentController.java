@@ -1,17 +1,22 @@
 package code.with.vanilson.market.payments.api;
 
 import code.with.vanilson.market.payments.application.PaymentService;
+import code.with.vanilson.market.shared.application.CursorPage;
+import code.with.vanilson.market.shared.infrastructure.NdjsonResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,15 +31,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "List all payments", description = "Retrieves a history of all payment transactions for the tenant.")
-    @ApiResponse(responseCode = "200", description = "List of payments retrieved successfully")
+    @Operation(summary = "List all payments", description = "Retrieves one page of payment transactions ordered by id. Pass the returned nextCursor to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Page of payments retrieved successfully")
     @GetMapping
-    public ResponseEntity<List<PaymentDto.Response>> listAllPayments() {
-        List<PaymentDto.Response> responses = paymentService.listAllPayments();
+    public ResponseEntity<CursorPage<PaymentDto.Response>> listAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PaymentDto.Response> responses = paymentService.listAllPayments(cursor, size);
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(summary = "Stream all payments", description = "Streams every payment transaction as newline-delimited JSON.")
+    @ApiResponse(responseCode = "200", description = "Payments streamed successfully")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPayments() {
+        return NdjsonResponses.stream(objectMapper, paymentService::streamAllPayments);
+    }
+
     @Operation(summary = "Get payment by Order ID", description = "Retrieves the payment transaction associated with a specific order.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payment retrieved successfully"),
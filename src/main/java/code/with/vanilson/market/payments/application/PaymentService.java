@@ -6,26 +6,36 @@ import code.with.vanilson.market.payments.api.PaymentDto;
 import code.with.vanilson.market.payments.domain.Payment;
 import code.with.vanilson.market.payments.domain.PaymentRepository;
 import code.with.vanilson.market.payments.domain.PaymentStatus;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.domain.PaymentEvents;
 import code.with.vanilson.market.shared.infrastructure.exception.PaymentNotFoundException;
-import code.with.vanilson.market.shared.infrastructure.exception.PaymentStatusException;
-import org.springframework.cache.annotation.CacheEvict;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PaymentService {
 
+    public static final String CACHE_BY_ID = "payments";
+    public static final String CACHE_BY_ORDER_ID = "paymentByOrderId";
+
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final EventProducer eventProducer;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository, EventProducer eventProducer) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
@@ -33,13 +43,32 @@ public class PaymentService {
     }
 
 
-    public List<PaymentDto.Response> listAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto.Response> listAllPayments(String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<Payment> rows = cursor == null
+                ? paymentRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : paymentRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decode(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Payment::getId, this::mapToResponse);
+    }
+
+    /**
+     * Pushes every payment to {@code sink} straight off a database cursor. Each row is detached
+     * once written, so memory stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllPayments(Consumer<PaymentDto.Response> sink) {
+        try (Stream<Payment> rows = paymentRepository.streamAll()) {
+            rows.forEach(row -> {
+                sink.accept(mapToResponse(row));
+                entityManager.detach(row);
+            });
+        }
     }
 
-    @Cacheable(value = "paymentByOrderId", key = "#orderId")
+    // Loaded from the primary so a lagging replica cannot re-cache the row a write just evicted
+    @Cacheable(value = CACHE_BY_ORDER_ID, key = "#orderId", sync = true)
+    @Transactional
     public PaymentDto.Response getPaymentByOrderId(UUID orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found for order: " + orderId));
@@ -61,27 +90,31 @@ public class PaymentService {
 
         payment = paymentRepository.save(payment);
 
-        eventProducer.publish("payments.captured", "Payment captured for order: " + request.getOrderId());
+        eventProducer.publish("payments.captured", payment.getId().toString(),
+                PaymentEvents.PaymentCapturedEvent.builder()
+                        .paymentId(payment.getId())
+                        .orderId(payment.getOrderId())
+                        .amount(payment.getAmount().getAmount())
+                        .currency(payment.getAmount().getCurrencyCode())
+                        .build());
 
         return mapToResponse(payment);
     }
 
-    @CacheEvict(value = "payments", key = "#orderId")
     @Transactional
     public void refundOrder(java.util.UUID orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found for order"));
 
-        if (payment.getStatus() != PaymentStatus.CAPTURED) {
-            throw new PaymentStatusException("Cannot refund payment in status: " + payment.getStatus());
-        }
-
-        payment.setStatus(PaymentStatus.REFUNDED);
+        payment.refund();
         paymentRepository.save(payment);
-        eventProducer.publish("payments.refunded", "Payment refunded for order: " + orderId);
+        eventProducer.publish("payments.refunded", payment.getId().toString(),
+                "Payment refunded for order: " + orderId);
     }
 
-    @Cacheable(value = "payments", key = "#paymentId")
+    // Loaded from the primary so a lagging replica cannot re-cache the row a write just evicted
+    @Cacheable(value = CACHE_BY_ID, key = "#paymentId", sync = true)
+    @Transactional
     public PaymentDto.Response getPaymentById(UUID paymentId) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() ->
@@ -1,7 +1,9 @@
 package code.with.vanilson.market.payments.domain;
 
+import code.with.vanilson.market.events.domain.PaymentChangedEvent;
 import code.with.vanilson.market.shared.domain.AggregateRoot;
 import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.exception.PaymentStatusException;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.Column;
@@ -41,4 +43,12 @@ public class Payment extends AggregateRoot {
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
+
+    public void refund() {
+        if (this.status != PaymentStatus.CAPTURED) {
+            throw new PaymentStatusException("Cannot refund payment in status: " + this.status);
+        }
+        this.status = PaymentStatus.REFUNDED;
+        registerEvent(new PaymentChangedEvent(this.getId(), this.orderId));
+    }
 }
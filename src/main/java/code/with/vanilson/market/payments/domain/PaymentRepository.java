@@ -1,9 +1,29 @@
 package code.with.vanilson.market.payments.domain;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     Optional<Payment> findByOrderId(UUID orderId);
+
+    List<Payment> findAllByOrderByIdAsc(Limit limit);
+
+    List<Payment> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    /**
+     * Streams every payment in id order from a server-side cursor, fetching 500 rows per round trip.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payment p ORDER BY p.id")
+    Stream<Payment> streamAll();
 }
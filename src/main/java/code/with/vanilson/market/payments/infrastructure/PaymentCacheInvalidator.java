@@ -0,0 +1,32 @@
+package code.with.vanilson.market.payments.infrastructure;
+
+import code.with.vanilson.market.events.domain.PaymentChangedEvent;
+import code.with.vanilson.market.payments.application.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops every cached view of a payment, by id and by order, once a change to it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        evict(PaymentService.CACHE_BY_ID, event.getPaymentId());
+        evict(PaymentService.CACHE_BY_ORDER_ID, event.getOrderId());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -23,7 +23,8 @@ public class PaymentEventConsumer {
     private final EventProducer eventProducer;
     private final ObjectMapper objectMapper;
 
-    @KafkaListener(topics = "orders.placed", groupId = "payments-group")
+    @KafkaListener(topics = "orders.placed", groupId = "payments-group",
+            concurrency = "${app.kafka.listener-concurrency:6}")
     @Transactional
     public void handleOrderPlaced(OrderPlacedEvent event) {
         log.info("Processing payment for Order: {}", event.getOrderId());
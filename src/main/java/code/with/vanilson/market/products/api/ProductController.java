@@ -1,12 +1,17 @@
 package code.with.vanilson.market.products.api;
 
 import code.with.vanilson.market.products.application.ProductService;
+import code.with.vanilson.market.shared.application.CursorPage;
+import code.with.vanilson.market.shared.infrastructure.NdjsonResponses;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +26,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class ProductController {
 
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Register new product", description = "Adds a new product to the catalog for the current tenant.")
     @ApiResponses(value = {
@@ -38,14 +44,39 @@ public class ProductController {
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto.Response> getProduct(@PathVariable UUID id) {
-        return ResponseEntity.ok(productService.getProduct(id));
+    public ResponseEntity<ProductDto.Response> getProduct(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @PathVariable UUID id) {
+        return ResponseEntity.ok(productService.getProduct(tenantId, id));
     }
 
-    @Operation(summary = "Get all products", description = "Returns a list of all products in the catalog.")
-    @ApiResponse(responseCode = "200", description = "List of products retrieved successfully")
+    @Operation(summary = "Update product", description = "Changes a product's name, description and price.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductDto.Response> updateProduct(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @PathVariable UUID id,
+            @RequestBody @Valid ProductDto.UpdateRequest request) {
+        return ResponseEntity.ok(productService.updateProduct(tenantId, id, request));
+    }
+
+    @Operation(summary = "Get all products", description = "Returns one page of the current tenant's catalog ordered by id. Pass the returned nextCursor to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Page of products retrieved successfully")
     @GetMapping
-    public ResponseEntity<List<ProductDto.Response>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<CursorPage<ProductDto.Response>> getAllProducts(
+            @RequestAttribute(TenantContext.TENANT_ID) String tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.getAllProducts(tenantId, cursor, size));
+    }
+
+    @Operation(summary = "Stream all products", description = "Streams the current tenant's whole catalog as newline-delimited JSON.")
+    @ApiResponse(responseCode = "200", description = "Products streamed successfully")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(@RequestAttribute(TenantContext.TENANT_ID) String tenantId) {
+        return NdjsonResponses.<ProductDto.Response>stream(objectMapper, sink -> productService.streamAllProducts(tenantId, sink));
     }
 }
@@ -34,6 +34,22 @@ public class ProductDto {
         private int inventoryCount;
     }
 
+    @Data
+    @io.swagger.v3.oas.annotations.media.Schema(description = "Request to update a product's catalog details")
+    public static class UpdateRequest {
+        @NotBlank
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Product display name", example = "Premium Wireless Headphones")
+        private String name;
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Detailed product description", example = "Noise-cancelling over-ear headphones with 40h battery life")
+        private String description;
+        @DecimalMin("0.01")
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Product unit price", example = "279.99")
+        private BigDecimal price;
+        @NotBlank
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Currency code (ISO 4217)", example = "USD")
+        private String currency;
+    }
+
     @Data
     @io.swagger.v3.oas.annotations.media.Schema(description = "Product resource representation")
     public static class Response {
@@ -1,27 +1,43 @@
 package code.with.vanilson.market.products.application;
 
 import code.with.vanilson.market.products.api.ProductDto;
+import code.with.vanilson.market.products.domain.CatalogEntry;
 import code.with.vanilson.market.products.domain.Product;
 import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.products.infrastructure.HotSkuInventoryLedger;
+import code.with.vanilson.market.products.infrastructure.ProductCatalog;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final HotSkuInventoryLedger hotSkuInventoryLedger;
+    private final ProductCatalog productCatalog;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional
     public ProductDto.Response createProduct(ProductDto.CreateRequest request) {
-        if (productRepository.findBySku(request.getSku()).isPresent()) {
+        if (productCatalog.findBySku(request.getSku()).isPresent()) {
             throw new DomainException("Product with this SKU already exists");
         }
 
@@ -38,26 +54,93 @@ public class ProductService {
         return mapToResponse(product);
     }
 
-    public ProductDto.Response getProduct(UUID id) {
-        Product product = productRepository.findById(id)
+    // Read-write so that catalog misses loaded in here go to the primary, not a lagging replica
+    @Transactional
+    public ProductDto.Response getProduct(String tenantId, UUID id) {
+        CatalogEntry entry = productCatalog.get(id)
+                .filter(candidate -> candidate.tenantId().equals(tenantId))
+                .orElseThrow(() -> new DomainException("Product not found"));
+        return mapToResponse(entry, productCatalog.inventoryCount(id).orElse(0));
+    }
+
+    /**
+     * Changes a product's name, description and price. Once the change commits, every node drops its
+     * catalog entry for the product.
+     */
+    @Transactional
+    public ProductDto.Response updateProduct(String tenantId, UUID id, ProductDto.UpdateRequest request) {
+        Product product = productRepository.findByTenantIdAndId(tenantId, id)
                 .orElseThrow(() -> new DomainException("Product not found"));
+
+        product.updateCatalogDetails(request.getName(), request.getDescription(),
+                new Money(request.getPrice(), request.getCurrency()));
+
+        product = productRepository.save(product);
         return mapToResponse(product);
     }
 
-    public List<ProductDto.Response> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Catalog entries for every id that exists, loading all catalog misses in one query.
+     * Unknown ids are absent from the result.
+     */
+    public Map<UUID, CatalogEntry> getCatalogEntries(Collection<UUID> ids) {
+        return productCatalog.getAll(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto.Response> getAllProducts(String tenantId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<Product> rows = cursor == null
+                ? productRepository.findByTenantIdOrderByIdAsc(tenantId, Limit.of(pageSize + 1))
+                : productRepository.findByTenantIdAndIdGreaterThanOrderByIdAsc(
+                        tenantId, CursorPage.decode(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Product::getId, this::mapToResponse);
+    }
+
+    /**
+     * Pushes every product of the tenant to {@code sink} straight off a database cursor.
+     * Each row is detached once written, so memory stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(String tenantId, Consumer<ProductDto.Response> sink) {
+        try (Stream<Product> rows = productRepository.streamAllByTenantId(tenantId)) {
+            rows.forEach(row -> {
+                sink.accept(mapToResponse(row));
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    /**
+     * Reserves stock for a cart. Hot SKUs are served from the in-memory ledger, everything else
+     * with a single conditional update. A {@code false} result must roll the transaction back,
+     * which also hands any hot SKU grants back to the ledger.
+     */
+    @Transactional
+    public boolean reserveInventory(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> hot = new HashMap<>();
+        Map<UUID, Integer> cold = new HashMap<>();
+        quantities.forEach((productId, quantity) ->
+                (hotSkuInventoryLedger.isHot(productId) ? hot : cold).put(productId, quantity));
+
+        if (!productRepository.reserveInventory(cold)) {
+            return false;
+        }
+        return hot.isEmpty() || hotSkuInventoryLedger.reserve(hot);
     }
 
     private ProductDto.Response mapToResponse(Product product) {
+        return mapToResponse(CatalogEntry.of(product), product.getInventoryCount());
+    }
+
+    private ProductDto.Response mapToResponse(CatalogEntry entry, int inventoryCount) {
         ProductDto.Response response = new ProductDto.Response();
-        response.setId(product.getId().toString());
-        response.setName(product.getName());
-        response.setSku(product.getSku());
-        response.setPrice(product.getPrice().getAmount());
-        response.setCurrency(product.getPrice().getCurrencyCode());
-        response.setInventoryCount(product.getInventoryCount());
+        response.setId(entry.id().toString());
+        response.setName(entry.name());
+        response.setSku(entry.sku());
+        response.setPrice(entry.price().getAmount());
+        response.setCurrency(entry.price().getCurrencyCode());
+        response.setInventoryCount(inventoryCount);
         return response;
     }
 }
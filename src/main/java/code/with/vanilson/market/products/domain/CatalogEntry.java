@@ -0,0 +1,16 @@
+package code.with.vanilson.market.products.domain;
+
+import code.with.vanilson.market.shared.domain.Money;
+
+import java.util.UUID;
+
+/**
+ * The slow-changing part of a {@link Product}, as held by the product catalog: everything but stock.
+ */
+public record CatalogEntry(UUID id, String tenantId, String sku, String name, String description, Money price) {
+
+    public static CatalogEntry of(Product product) {
+        return new CatalogEntry(product.getId(), product.getTenantId(), product.getSku(), product.getName(),
+                product.getDescription(), product.getPrice());
+    }
+}
@@ -1,5 +1,6 @@
 package code.with.vanilson.market.products.domain;
 
+import code.with.vanilson.market.events.domain.ProductChangedEvent;
 import code.with.vanilson.market.shared.domain.AggregateRoot;
 import code.with.vanilson.market.shared.domain.Money;
 import jakarta.persistence.*;
@@ -46,4 +47,11 @@ public class Product extends AggregateRoot {
     public void increaseInventory(int quantity) {
         this.inventoryCount += quantity;
     }
+
+    public void updateCatalogDetails(String name, String description, Money price) {
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        registerEvent(new ProductChangedEvent(this.getId()));
+    }
 }
@@ -0,0 +1,18 @@
+package code.with.vanilson.market.products.domain;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProductInventoryRepository {
+
+    /**
+     * Reserves stock for a whole cart with one conditional {@code UPDATE} driven by
+     * {@code unnest} arrays. Each row is only decremented when it holds enough stock,
+     * so concurrent reservations never oversell. The rows are locked in id order before
+     * any of them is updated, so carts with overlapping products cannot deadlock.
+     *
+     * <p>Returns {@code false} when at least one product could not be reserved. Rows that
+     * did qualify have already been decremented, so the caller must roll back its transaction.
+     */
+    boolean reserveInventory(Map<UUID, Integer> quantities);
+}
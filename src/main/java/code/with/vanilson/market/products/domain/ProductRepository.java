@@ -1,9 +1,68 @@
 package code.with.vanilson.market.products.domain;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductInventoryRepository {
     Optional<Product> findBySku(String sku);
+
+    /**
+     * Loads all requested products in a single round trip with {@code SELECT ... FOR UPDATE}.
+     * Postgres locks each row as it leaves the {@code ORDER BY} sort, so concurrent callers
+     * lock overlapping products in id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Decrements stock for one product only if enough is available, as a single
+     * conditional {@code UPDATE}. Returns the affected row count: 1 when the
+     * reservation was granted, 0 when stock was insufficient or the product is unknown.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET inventory_count = inventory_count - :quantity " +
+            "WHERE id = :id AND inventory_count >= :quantity", nativeQuery = true)
+    int reserveInventory(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    Optional<Product> findByTenantIdAndId(String tenantId, UUID id);
+
+    @Query("SELECT p.inventoryCount FROM Product p WHERE p.id = :id")
+    Optional<Integer> findInventoryCountById(@Param("id") UUID id);
+
+    /**
+     * Keyset pages across all tenants, used to warm the product catalog.
+     */
+    List<Product> findAllByOrderByIdAsc(Limit limit);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    /**
+     * Keyset pages of one tenant's products, served from the {@code (tenant_id, id)} index.
+     */
+    List<Product> findByTenantIdOrderByIdAsc(String tenantId, Limit limit);
+
+    List<Product> findByTenantIdAndIdGreaterThanOrderByIdAsc(String tenantId, UUID id, Limit limit);
+
+    /**
+     * Streams every product of a tenant in id order from a server-side cursor, fetching 500 rows per round trip.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p WHERE p.tenantId = :tenantId ORDER BY p.id")
+    Stream<Product> streamAllByTenantId(@Param("tenantId") String tenantId);
 }
@@ -0,0 +1,508 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in in-memory inventory for flash-sale SKUs listed in {@code app.inventory.hot-skus}.
+ *
+ * <p>Each node leases stock for a hot SKU from Postgres in chunks of {@code lease-size}, taking it off
+ * {@code products.inventory_count} with a conditional {@code UPDATE} that never drives the count below
+ * zero, so all nodes together can never sell more than the row held. Leased stock is split across
+ * lock-free CAS stripes, so concurrent orders do not contend on the {@code products} row. Leases are
+ * topped up in the background when they run low, and on demand when an order finds the stripes empty.
+ * {@code products.inventory_count} therefore shows unleased stock only; stock still leased to a node is
+ * handed back on shutdown.
+ *
+ * <p>Every lease and every sale is appended to a reservation log, which is synced before the order
+ * commits and compacted to one checkpoint line per SKU after each background pass. On startup the log
+ * left by a crash is replayed, and whatever was leased but not sold is returned to Postgres exactly once.
+ */
+@Component
+@Slf4j
+public class HotSkuInventoryLedger {
+
+    private static final String CHECKPOINT = "C";
+    private static final String BATCH = "B";
+    private static final String RESERVED = "R";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final Set<String> hotSkus;
+    private final Path logPath;
+    private final int stripeCount;
+    private final int leaseSize;
+
+    private final Map<UUID, Stock> stocks = new ConcurrentHashMap<>();
+
+    // Leased but unsold units per product as recorded in the journal, guarded by journalLock
+    private final Map<UUID, Long> outstanding = new HashMap<>();
+    private final Object journalLock = new Object();
+    private final Object forceLock = new Object();
+    private final Object batchLock = new Object();
+    private volatile FileChannel journal;
+    private volatile boolean closing;
+    private long appended;
+    private boolean dirty;
+    private volatile long forced;
+
+    public HotSkuInventoryLedger(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.inventory.hot-skus:}") List<String> hotSkus,
+                                 @Value("${app.inventory.ledger.path:./data/inventory-ledger.log}") String logPath,
+                                 @Value("${app.inventory.ledger.lease-size:100}") int leaseSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Leases must commit on their own: rolling one back with an order would leave its stock in the stripes
+        this.batchTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotSkus = hotSkus.stream().map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet());
+        this.logPath = Paths.get(logPath);
+        this.stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2);
+        this.leaseSize = leaseSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException {
+        if (hotSkus.isEmpty()) {
+            return;
+        }
+        recover();
+        Path directory = logPath.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        journal = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        String placeholders = hotSkus.stream().map(s -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT id FROM products WHERE sku IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> stocks.put(rs.getObject("id", UUID.class), new Stock(stripeCount)),
+                hotSkus.toArray());
+        stocks.forEach((productId, stock) -> lease(productId, stock, leaseSize));
+        log.info("Hot SKU ledger serving {} products across {} stripes", stocks.size(), stripeCount);
+    }
+
+    public boolean isHot(UUID productId) {
+        return stocks.containsKey(productId);
+    }
+
+    /**
+     * Grants every quantity in full or none of them. When called inside a transaction the log is
+     * synced before that transaction commits, and the grant is handed back if it rolls back.
+     */
+    public boolean reserve(Map<UUID, Integer> quantities) {
+        if (journal == null) {
+            return false;
+        }
+        Map<UUID, Integer> granted = new HashMap<>();
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            Stock stock = stocks.get(entry.getKey());
+            int quantity = entry.getValue();
+            if (!stock.take(quantity) && !(topUp(entry.getKey(), stock, quantity) && stock.take(quantity))) {
+                release(granted);
+                return false;
+            }
+            granted.put(entry.getKey(), quantity);
+            append(RESERVED, entry.getKey(), quantity);
+        }
+
+        long position = appendedPosition();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    forceUpTo(position);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(granted);
+                    }
+                }
+            });
+        } else {
+            forceUpTo(position);
+        }
+        return true;
+    }
+
+    public void release(Map<UUID, Integer> quantities) {
+        if (journal == null) {
+            return;
+        }
+        quantities.forEach((productId, quantity) -> {
+            // Logged before the stock reappears, so a crash in between can only lose the unit, not sell it twice
+            append(RESERVED, productId, -quantity);
+            stocks.get(productId).give(quantity);
+        });
+    }
+
+    /**
+     * Tops up every lease that has fallen below half of {@code lease-size}, then compacts the log.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        if (journal == null) {
+            return;
+        }
+        stocks.forEach((productId, stock) -> {
+            if (stock.available() < leaseSize / 2 && stock.leasing.tryLock()) {
+                try {
+                    lease(productId, stock, leaseSize);
+                } finally {
+                    stock.leasing.unlock();
+                }
+            }
+        });
+        checkpoint();
+    }
+
+    /**
+     * Returns every unsold leased unit to Postgres and removes the log. Orders still in flight at this
+     * point should have been drained by graceful shutdown; a grant they roll back afterwards is lost
+     * rather than sold twice.
+     */
+    @PreDestroy
+    public synchronized void shutdown() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        closing = true;
+        synchronized (batchLock) {
+            stocks.forEach((productId, stock) -> {
+                long unsold = stock.drain();
+                if (unsold > 0) {
+                    applyBatch(productId, -unsold);
+                }
+            });
+            FileChannel channel = journal;
+            journal = null;
+            channel.close();
+            Files.deleteIfExists(logPath);
+        }
+    }
+
+    /**
+     * Called when an order finds too little leased stock. Only one thread leases a product at a time;
+     * the others fail fast rather than wait, so orders never queue on the {@code products} row or hold
+     * pooled connections while another thread talks to the database.
+     */
+    private boolean topUp(UUID productId, Stock stock, int needed) {
+        if (!stock.leasing.tryLock()) {
+            return false;
+        }
+        try {
+            return stock.available() >= needed || lease(productId, stock, Math.max(leaseSize, needed)) > 0;
+        } finally {
+            stock.leasing.unlock();
+        }
+    }
+
+    private long lease(UUID productId, Stock stock, int requested) {
+        // Under batchLock so that shutdown cannot drain the stripes between the lease and the give
+        synchronized (batchLock) {
+            if (closing) {
+                return 0;
+            }
+            long granted = applyBatch(productId, requested);
+            if (granted > 0) {
+                stock.give(granted);
+            }
+            return granted;
+        }
+    }
+
+    /**
+     * Moves stock between Postgres and this node: a positive quantity leases up to that many units,
+     * a negative one hands units back. The batch is logged before it is applied, and the row written to
+     * {@code inventory_ledger_batches} with the quantity actually moved tells recovery whether it committed.
+     *
+     * @return the number of units moved, signed like {@code quantity}
+     */
+    private long applyBatch(UUID productId, long quantity) {
+        synchronized (batchLock) {
+            UUID batchId = UUID.randomUUID();
+            append(BATCH + " " + batchId, productId, quantity);
+            forceUpTo(appendedPosition());
+
+            Long moved = batchTransaction.execute(status -> {
+                long amount;
+                if (quantity > 0) {
+                    List<Long> leased = jdbcTemplate.queryForList("""
+                            WITH available AS (
+                                SELECT id, LEAST(?, inventory_count) AS amount FROM products WHERE id = ? FOR UPDATE
+                            )
+                            UPDATE products p SET inventory_count = p.inventory_count - a.amount
+                            FROM available a
+                            WHERE p.id = a.id AND a.amount > 0
+                            RETURNING a.amount
+                            """, Long.class, quantity, productId);
+                    amount = leased.isEmpty() ? 0 : leased.get(0);
+                } else {
+                    int updated = jdbcTemplate.update(
+                            "UPDATE products SET inventory_count = inventory_count - ? WHERE id = ?", quantity, productId);
+                    if (updated != 1) {
+                        log.warn("Hot SKU {} no longer exists; {} returned units were dropped", productId, -quantity);
+                        return 0L;
+                    }
+                    amount = quantity;
+                }
+                if (amount != 0) {
+                    jdbcTemplate.update(
+                            "INSERT INTO inventory_ledger_batches (id, product_id, quantity, applied_at) VALUES (?, ?, ?, now())",
+                            batchId, productId, amount);
+                }
+                return amount;
+            });
+
+            long applied = moved == null ? 0 : moved;
+            synchronized (journalLock) {
+                outstanding.merge(productId, applied, Long::sum);
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Replaces the log with one checkpoint line per product holding its leased but unsold units.
+     * Every append happens under {@code journalLock}, so the snapshot matches the log exactly.
+     */
+    private void checkpoint() {
+        synchronized (batchLock) {
+            synchronized (forceLock) {
+                synchronized (journalLock) {
+                    if (journal == null || !dirty) {
+                        return;
+                    }
+                    Path next = logPath.resolveSibling(logPath.getFileName() + ".next");
+                    try (FileChannel channel = FileChannel.open(next, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        for (Map.Entry<UUID, Long> entry : outstanding.entrySet()) {
+                            write(channel, line(CHECKPOINT, entry.getKey(), entry.getValue()));
+                        }
+                        channel.force(false);
+                    } catch (IOException e) {
+                        log.warn("Failed to checkpoint inventory ledger {}", logPath, e);
+                        return;
+                    }
+                    try {
+                        Files.move(next, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        journal.close();
+                        journal = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to rotate inventory ledger " + logPath, e);
+                    }
+                    forced = appended;
+                    dirty = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the reservation log left behind by a previous run and returns every unit that was
+     * leased but not sold. Which batches committed is read back in a single query; the return itself
+     * is logged as a batch first, so a crash during recovery cannot hand the same units back twice.
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        Map<UUID, Long> unsold = new HashMap<>();
+        Map<UUID, UUID> batches = new HashMap<>();
+        for (String line : Files.readAllLines(logPath, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            if (CHECKPOINT.equals(parts[0]) && parts.length == 3) {
+                unsold.put(UUID.fromString(parts[1]), Long.parseLong(parts[2]));
+            } else if (RESERVED.equals(parts[0]) && parts.length == 3) {
+                unsold.merge(UUID.fromString(parts[1]), -Long.parseLong(parts[2]), Long::sum);
+            } else if (BATCH.equals(parts[0]) && parts.length == 4) {
+                batches.put(UUID.fromString(parts[1]), UUID.fromString(parts[2]));
+            }
+        }
+        if (!batches.isEmpty()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT id, quantity FROM inventory_ledger_batches WHERE id = ANY(?)");
+                Array ids = connection.createArrayOf("uuid", batches.keySet().toArray());
+                statement.setArray(1, ids);
+                return statement;
+            }, (RowCallbackHandler) rs -> unsold.merge(
+                    batches.get(rs.getObject("id", UUID.class)), rs.getLong("quantity"), Long::sum));
+        }
+
+        journal = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            List<UUID> recovered = new ArrayList<>();
+            unsold.forEach((productId, quantity) -> {
+                if (quantity > 0) {
+                    applyBatch(productId, -quantity);
+                    recovered.add(productId);
+                }
+            });
+            if (!recovered.isEmpty()) {
+                log.warn("Returned unsold hot SKU leases for {} products after an unclean shutdown", recovered.size());
+            }
+        } finally {
+            journal.close();
+            journal = null;
+            synchronized (journalLock) {
+                outstanding.clear();
+            }
+        }
+        Files.delete(logPath);
+    }
+
+    private void append(String type, UUID productId, long quantity) {
+        byte[] line = line(type, productId, quantity);
+        synchronized (journalLock) {
+            if (journal == null) {
+                throw new IllegalStateException("Inventory ledger " + logPath + " is closed");
+            }
+            try {
+                write(journal, line);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to append to inventory ledger " + logPath, e);
+            }
+            appended += line.length;
+            dirty = true;
+            if (RESERVED.equals(type)) {
+                outstanding.merge(productId, -quantity, Long::sum);
+            }
+        }
+    }
+
+    private long appendedPosition() {
+        synchronized (journalLock) {
+            return appended;
+        }
+    }
+
+    /**
+     * Syncs the log at least up to {@code position}. Callers arriving while a sync is running wait for it
+     * and usually find their lines already covered, so concurrent orders share one {@code fsync}.
+     */
+    private void forceUpTo(long position) {
+        if (forced >= position) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (forced >= position || journal == null) {
+                return;
+            }
+            long target = appendedPosition();
+            try {
+                journal.force(false);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to sync inventory ledger " + logPath, e);
+            }
+            forced = target;
+        }
+    }
+
+    private static byte[] line(String type, UUID productId, long quantity) {
+        return (type + " " + productId + " " + quantity + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(FileChannel channel, byte[] line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Leased stock for one SKU, striped so that threads usually CAS different slots.
+     */
+    private static final class Stock {
+        private final AtomicLongArray stripes;
+        private final ReentrantLock leasing = new ReentrantLock();
+
+        Stock(int stripeCount) {
+            this.stripes = new AtomicLongArray(stripeCount);
+        }
+
+        boolean take(long quantity) {
+            int n = stripes.length();
+            int start = ThreadLocalRandom.current().nextInt(n);
+            long[] taken = new long[n];
+            long needed = quantity;
+            for (int k = 0; k < n && needed > 0; k++) {
+                int i = (start + k) & (n - 1);
+                long current;
+                while ((current = stripes.get(i)) > 0) {
+                    long amount = Math.min(current, needed);
+                    if (stripes.compareAndSet(i, current, current - amount)) {
+                        taken[i] = amount;
+                        needed -= amount;
+                        break;
+                    }
+                }
+            }
+            if (needed > 0) {
+                for (int i = 0; i < n; i++) {
+                    if (taken[i] > 0) {
+                        stripes.addAndGet(i, taken[i]);
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+
+        void give(long quantity) {
+            stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripes.length()), quantity);
+        }
+
+        long available() {
+            long remaining = 0;
+            for (int i = 0; i < stripes.length(); i++) {
+                remaining += stripes.get(i);
+            }
+            return remaining;
+        }
+
+        long drain() {
+            long drained = 0;
+            for (int i = 0; i < stripes.length(); i++) {
+                drained += stripes.getAndSet(i, 0);
+            }
+            return drained;
+        }
+    }
+}
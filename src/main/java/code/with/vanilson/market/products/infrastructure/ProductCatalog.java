@@ -0,0 +1,149 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import code.with.vanilson.market.products.domain.CatalogEntry;
+import code.with.vanilson.market.products.domain.Product;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through, in-process cache of the slow-changing part of products: name, description, SKU and price,
+ * looked up by id or by SKU. Stock lives in a separate short-lived cache, so inventory movements never
+ * touch the catalog entries. The catalog is warmed on startup and an entry is dropped on every node once
+ * a change to its product commits; {@code ttl-seconds} only bounds what a missed broadcast can leave behind.
+ * Misses are loaded from the primary inside a read-write transaction: a load often follows an eviction
+ * directly, and a lagging replica would put the old row back for the whole TTL.
+ * Hit, miss and eviction counts are exported as {@code cache.*} metrics tagged {@code cache=products.catalog}.
+ */
+@Component
+@Slf4j
+public class ProductCatalog {
+
+    /** Redis channel carrying the id of a product whose catalog entry is stale. */
+    public static final String INVALIDATION_CHANNEL = "products.catalog.invalidate";
+
+    private static final int WARM_PAGE_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<UUID, CatalogEntry> entries;
+    private final Map<String, UUID> idsBySku = new ConcurrentHashMap<>();
+    private final Cache<UUID, Integer> inventory;
+    private final long warmSize;
+
+    public ProductCatalog(ProductRepository productRepository,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.catalog.max-size:50000}") long maxSize,
+                          @Value("${app.catalog.warm-size:10000}") long warmSize,
+                          @Value("${app.catalog.ttl-seconds:3600}") long ttlSeconds,
+                          @Value("${app.catalog.inventory-ttl-ms:1000}") long inventoryTtlMs) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.warmSize = Math.min(warmSize, maxSize);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .evictionListener((UUID id, CatalogEntry entry, RemovalCause cause) ->
+                        idsBySku.remove(entry.sku(), id))
+                .recordStats()
+                .build();
+        this.inventory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(inventoryTtlMs))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "products.catalog");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            long loaded = 0;
+            List<Product> page = transactionTemplate.execute(status ->
+                    productRepository.findAllByOrderByIdAsc(Limit.of(WARM_PAGE_SIZE)));
+            while (!page.isEmpty() && loaded < warmSize) {
+                for (Product product : page) {
+                    entries.put(product.getId(), index(product));
+                }
+                loaded += page.size();
+                UUID last = page.get(page.size() - 1).getId();
+                page = page.size() < WARM_PAGE_SIZE ? List.of() : transactionTemplate.execute(status ->
+                        productRepository.findByIdGreaterThanOrderByIdAsc(last, Limit.of(WARM_PAGE_SIZE)));
+            }
+            log.info("Warmed product catalog with {} products", loaded);
+        } catch (RuntimeException e) {
+            // Misses still read through, so a cold start only costs latency
+            log.warn("Failed to warm product catalog", e);
+        }
+    }
+
+    public Optional<CatalogEntry> get(UUID id) {
+        return Optional.ofNullable(entries.get(id, key -> transactionTemplate.execute(status ->
+                productRepository.findById(key).map(this::index).orElse(null))));
+    }
+
+    /**
+     * Entries for every id that exists, loading all misses in one query. Unknown ids are absent from the result.
+     */
+    public Map<UUID, CatalogEntry> getAll(Collection<UUID> ids) {
+        return entries.getAll(ids, missing -> transactionTemplate.execute(status -> {
+            Map<UUID, CatalogEntry> loaded = new HashMap<>();
+            for (Product product : productRepository.findAllById(List.copyOf(missing))) {
+                loaded.put(product.getId(), index(product));
+            }
+            return loaded;
+        }));
+    }
+
+    public Optional<CatalogEntry> findBySku(String sku) {
+        UUID id = idsBySku.get(sku);
+        CatalogEntry cached = id == null ? null : entries.getIfPresent(id);
+        if (cached != null && cached.sku().equals(sku)) {
+            return Optional.of(cached);
+        }
+        return transactionTemplate.execute(status -> productRepository.findBySku(sku))
+                .map(product -> entries.get(product.getId(), key -> index(product)));
+    }
+
+    /**
+     * Stock as of at most {@code inventory-ttl-ms} ago, for display. Reservations always check the database.
+     */
+    public Optional<Integer> inventoryCount(UUID id) {
+        return Optional.ofNullable(inventory.get(id, key -> transactionTemplate.execute(status ->
+                productRepository.findInventoryCountById(key).orElse(null))));
+    }
+
+    public void evict(UUID id) {
+        // Invalidating waits out a load of this id already in progress, so it cannot re-insert a stale entry
+        CatalogEntry entry = entries.asMap().remove(id);
+        if (entry != null) {
+            idsBySku.remove(entry.sku(), id);
+        }
+        inventory.invalidate(id);
+    }
+
+    private CatalogEntry index(Product product) {
+        idsBySku.put(product.getSku(), product.getId());
+        inventory.put(product.getId(), product.getInventoryCount());
+        return CatalogEntry.of(product);
+    }
+}
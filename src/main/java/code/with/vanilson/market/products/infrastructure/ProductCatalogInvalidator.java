@@ -0,0 +1,42 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import code.with.vanilson.market.events.domain.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps every node's {@link ProductCatalog} coherent. Once a change to a product commits, its id is published
+ * on {@link ProductCatalog#INVALIDATION_CHANNEL} and each subscribed node evicts the entry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogInvalidator implements MessageListener {
+
+    private final ProductCatalog productCatalog;
+    private final StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        productCatalog.evict(event.getProductId());
+        try {
+            redisTemplate.convertAndSend(ProductCatalog.INVALIDATION_CHANNEL, event.getProductId().toString());
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the catalog TTL
+            log.warn("Failed to broadcast catalog invalidation for product {}", event.getProductId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        productCatalog.evict(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+}
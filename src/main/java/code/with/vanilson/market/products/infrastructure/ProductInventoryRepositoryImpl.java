@@ -0,0 +1,54 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import code.with.vanilson.market.products.domain.ProductInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductInventoryRepositoryImpl implements ProductInventoryRepository {
+
+    // The UPDATE alone locks rows in whatever order its plan visits them. The CTE locks them first,
+    // in id order, and the UPDATE only reaches a row after the CTE has emitted (and locked) it
+    private static final String RESERVE_SQL = """
+            WITH locked AS (
+                SELECT id FROM products WHERE id = ANY(?::uuid[]) ORDER BY id FOR UPDATE
+            )
+            UPDATE products p
+            SET inventory_count = p.inventory_count - r.quantity
+            FROM unnest(?::uuid[], ?::int[]) AS r(id, quantity)
+            JOIN locked l ON l.id = r.id
+            WHERE p.id = r.id AND p.inventory_count >= r.quantity
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean reserveInventory(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return true;
+        }
+
+        UUID[] ids = new UUID[quantities.size()];
+        Integer[] amounts = new Integer[quantities.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            ids[i] = entry.getKey();
+            amounts[i] = entry.getValue();
+            i++;
+        }
+
+        Integer updated = jdbcTemplate.execute(RESERVE_SQL, (PreparedStatement ps) -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setArray(3, ps.getConnection().createArrayOf("int4", amounts));
+            return ps.executeUpdate();
+        });
+        return updated != null && updated == quantities.size();
+    }
+}
@@ -2,6 +2,7 @@ package code.with.vanilson.market.promotions.api;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -25,6 +26,12 @@ public class PromotionDto {
         @Future
         @io.swagger.v3.oas.annotations.media.Schema(description = "Coupon expiration timestamp")
         private Instant expiryDate;
+        @Min(1)
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Total number of orders the coupon may be applied to; unlimited when omitted", example = "1000")
+        private Integer maxRedemptions;
+        @Min(1)
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Number of orders one customer may apply the coupon to; unlimited when omitted", example = "1")
+        private Integer maxRedemptionsPerCustomer;
     }
 
     @Data
@@ -38,5 +45,9 @@ public class PromotionDto {
         private BigDecimal discountAmount;
         @io.swagger.v3.oas.annotations.media.Schema(description = "Whether the coupon is still active", example = "true")
         private boolean active;
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Total redemption cap, null when unlimited", example = "1000")
+        private Integer maxRedemptions;
+        @io.swagger.v3.oas.annotations.media.Schema(description = "Per-customer redemption cap, null when unlimited", example = "1")
+        private Integer maxRedemptionsPerCustomer;
     }
 }
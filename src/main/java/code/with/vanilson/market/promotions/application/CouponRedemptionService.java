@@ -0,0 +1,59 @@
+package code.with.vanilson.market.promotions.application;
+
+import code.with.vanilson.market.events.domain.EventProducer;
+import code.with.vanilson.market.promotions.domain.CouponRedemption;
+import code.with.vanilson.market.promotions.domain.CouponRedemptionRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
+import code.with.vanilson.market.promotions.infrastructure.CouponRedemptionCounters;
+import code.with.vanilson.market.shared.domain.CouponRedeemedEvent;
+import code.with.vanilson.market.shared.domain.DomainException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CouponRedemptionService {
+
+    private final CouponRedemptionRepository redemptionRepository;
+    private final CouponRedemptionCounters redemptionCounters;
+    private final EventProducer eventProducer;
+
+    /**
+     * Records one use of {@code coupon} by the order being placed in the caller's transaction and emits
+     * a redemption event with it. Caps are enforced by the Redis counters rather than by counting rows,
+     * so the redemption log is insert-only; coupons without caps never touch Redis.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redeem(CouponIndex.Entry coupon, UUID customerId, UUID orderId) {
+        if (coupon.isLimited()) {
+            switch (redemptionCounters.acquire(coupon, customerId, orderId)) {
+                case TOTAL_EXHAUSTED -> throw new DomainException("Coupon redemption limit reached");
+                case CUSTOMER_EXHAUSTED -> throw new DomainException("Coupon already redeemed the maximum number of times by this customer");
+                case ACQUIRED -> { }
+            }
+        }
+
+        Instant redeemedAt = Instant.now();
+        redemptionRepository.save(CouponRedemption.builder()
+                .couponId(coupon.id())
+                .customerId(customerId)
+                .orderId(orderId)
+                .redeemedAt(redeemedAt)
+                .build());
+
+        eventProducer.publish("promotions.redeemed", CouponRedeemedEvent.builder()
+                .couponId(coupon.id())
+                .code(coupon.code())
+                .customerId(customerId)
+                .orderId(orderId)
+                .discountAmount(coupon.discount().getAmount())
+                .currency(coupon.discount().getCurrencyCode())
+                .redeemedAt(redeemedAt)
+                .build());
+    }
+}
@@ -3,6 +3,7 @@ package code.with.vanilson.market.promotions.application;
 import code.with.vanilson.market.promotions.api.PromotionDto;
 import code.with.vanilson.market.promotions.domain.Coupon;
 import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
 import lombok.RequiredArgsConstructor;
@@ -14,19 +15,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class PromotionService {
 
     private final CouponRepository couponRepository;
+    private final CouponIndex couponIndex;
 
     @Transactional
     public PromotionDto.Response createCoupon(PromotionDto.CreateCouponRequest request) {
-        if (couponRepository.findByCode(request.getCode()).isPresent()) {
+        if (couponIndex.findByCode(request.getCode()).isPresent()) {
             throw new DomainException("Coupon code already exists");
         }
 
-        Coupon coupon = Coupon.builder()
-                .code(request.getCode())
-                .discount(new Money(request.getDiscountAmount(), request.getCurrency()))
-                .expiryDate(request.getExpiryDate())
-                .active(true)
-                .build();
+        Coupon coupon = Coupon.issue(request.getCode(),
+                new Money(request.getDiscountAmount(), request.getCurrency()), request.getExpiryDate(),
+                request.getMaxRedemptions(), request.getMaxRedemptionsPerCustomer());
 
         coupon = couponRepository.save(coupon);
         return mapToResponse(coupon);
@@ -40,6 +39,8 @@ public class PromotionService {
         response.setCode(coupon.getCode());
         response.setDiscountAmount(coupon.getDiscount().getAmount());
         response.setActive(coupon.isActive());
+        response.setMaxRedemptions(coupon.getMaxRedemptions());
+        response.setMaxRedemptionsPerCustomer(coupon.getMaxRedemptionsPerCustomer());
         return response;
     }
 }
@@ -1,5 +1,6 @@
 package code.with.vanilson.market.promotions.domain;
 
+import code.with.vanilson.market.events.domain.CouponIssuedEvent;
 import code.with.vanilson.market.shared.domain.AggregateRoot;
 import code.with.vanilson.market.shared.domain.Money;
 import jakarta.persistence.*;
@@ -36,6 +37,26 @@ public class Coupon extends AggregateRoot {
     @Builder.Default
     private boolean active = true;
 
+    /** Total number of orders the coupon may be applied to; {@code null} for unlimited. */
+    private Integer maxRedemptions;
+
+    /** Number of orders one customer may apply the coupon to; {@code null} for unlimited. */
+    private Integer maxRedemptionsPerCustomer;
+
+    public static Coupon issue(String code, Money discount, Instant expiryDate,
+                               Integer maxRedemptions, Integer maxRedemptionsPerCustomer) {
+        Coupon coupon = Coupon.builder()
+                .code(code)
+                .discount(discount)
+                .expiryDate(expiryDate)
+                .active(true)
+                .maxRedemptions(maxRedemptions)
+                .maxRedemptionsPerCustomer(maxRedemptionsPerCustomer)
+                .build();
+        coupon.registerEvent(new CouponIssuedEvent(code));
+        return coupon;
+    }
+
     public boolean isValid() {
         return active && (expiryDate == null || expiryDate.isAfter(Instant.now()));
     }
@@ -0,0 +1,32 @@
+package code.with.vanilson.market.promotions.domain;
+
+import code.with.vanilson.market.shared.domain.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "coupon_redemptions")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CouponRedemption extends BaseEntity {
+
+    @Column(nullable = false)
+    private UUID couponId;
+
+    @Column(nullable = false)
+    private UUID customerId;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private Instant redeemedAt;
+}
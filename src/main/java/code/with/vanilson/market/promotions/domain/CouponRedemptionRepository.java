@@ -0,0 +1,10 @@
+package code.with.vanilson.market.promotions.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.UUID;
+
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, UUID> {
+    long countByCouponId(UUID couponId);
+
+    long countByCouponIdAndCustomerId(UUID couponId, UUID customerId);
+}
@@ -0,0 +1,165 @@
+package code.with.vanilson.market.promotions.infrastructure;
+
+import code.with.vanilson.market.promotions.domain.Coupon;
+import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of every coupon keyed by code. Once the full load has succeeded the index is
+ * authoritative: a code it does not hold is rejected without touching the database, so guessing codes
+ * costs nothing. Coupons created on any node are added as their creation commits, and the index is
+ * rebuilt every {@code reload-interval-ms} to pick up anything a missed broadcast left out. Both read the
+ * primary inside a read-write transaction, since a broadcast can arrive before a replica has the coupon.
+ *
+ * <p>While the index is incomplete (before the first load, after a failed one, or when there are more than
+ * {@code max-size} coupons) lookups read through to the database and remember unknown codes in a bounded,
+ * expiring negative cache exported as {@code cache.*} metrics tagged {@code cache=promotions.coupons.unknown}.
+ */
+@Component
+@Slf4j
+public class CouponIndex {
+
+    /** Redis channel carrying the code of a coupon that was just created. */
+    public static final String CREATED_CHANNEL = "promotions.coupons.created";
+
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxSize;
+    private final Cache<String, Boolean> unknownCodes;
+    private final Set<String> refreshedSinceReload = ConcurrentHashMap.newKeySet();
+
+    private volatile Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean complete;
+    private volatile Instant clock = Instant.now();
+
+    public CouponIndex(CouponRepository couponRepository,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.promotions.coupon-index.max-size:100000}") long maxSize,
+                       @Value("${app.promotions.coupon-index.unknown-max-size:100000}") long unknownMaxSize,
+                       @Value("${app.promotions.coupon-index.unknown-ttl-seconds:60}") long unknownTtlSeconds) {
+        this.couponRepository = couponRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSize = maxSize;
+        this.unknownCodes = Caffeine.newBuilder()
+                .maximumSize(unknownMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(unknownTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownCodes, "promotions.coupons.unknown");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.promotions.coupon-index.reload-interval-ms:300000}",
+            fixedDelayString = "${app.promotions.coupon-index.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        refreshedSinceReload.clear();
+        try {
+            Map<String, Entry> loaded = transactionTemplate.execute(status -> {
+                long count = couponRepository.count();
+                if (count > maxSize) {
+                    log.warn("{} coupons exceed the index size of {}; coupon lookups will read through", count, maxSize);
+                    return null;
+                }
+                Map<String, Entry> all = new ConcurrentHashMap<>();
+                for (Coupon coupon : couponRepository.findAll()) {
+                    all.put(coupon.getCode(), Entry.of(coupon));
+                }
+                return all;
+            });
+            if (loaded == null) {
+                // Entries kept from an earlier load would never be refreshed again
+                complete = false;
+                entries = new ConcurrentHashMap<>();
+                return;
+            }
+            entries = loaded;
+            // Coupons created while findAll was running may be missing from its result
+            refreshedSinceReload.forEach(code -> load(code, loaded));
+            complete = true;
+            unknownCodes.invalidateAll();
+        } catch (RuntimeException e) {
+            // Keep serving the previous index; lookups it cannot answer read through
+            complete = false;
+            log.warn("Failed to reload the coupon index", e);
+        }
+    }
+
+    /**
+     * Advances the clock that coupon expiry is checked against, so lookups do not read the system clock.
+     */
+    @Scheduled(fixedRateString = "${app.promotions.coupon-index.clock-tick-ms:1000}")
+    public void tick() {
+        clock = Instant.now();
+    }
+
+    public Optional<Entry> findByCode(String code) {
+        Entry entry = entries.get(code);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        if (complete || unknownCodes.getIfPresent(code) != null) {
+            return Optional.empty();
+        }
+        Optional<Entry> loaded = couponRepository.findByCode(code).map(Entry::of);
+        loaded.ifPresentOrElse(found -> entries.put(code, found), () -> unknownCodes.put(code, Boolean.TRUE));
+        return loaded;
+    }
+
+    /**
+     * Whether the coupon is active and unexpired as of the last clock tick.
+     */
+    public boolean isValid(Entry entry) {
+        return entry.active() && (entry.expiryDate() == null || entry.expiryDate().isAfter(clock));
+    }
+
+    /**
+     * Adds or replaces the entry for {@code code} from the database; called once its creation has committed.
+     */
+    public void refresh(String code) {
+        refreshedSinceReload.add(code);
+        load(code, entries);
+    }
+
+    /**
+     * Puts the coupon into {@code target} if the primary has it. A miss never removes anything: the
+     * broadcast only announces creations, and a coupon that is gone is dropped by the next reload.
+     */
+    private void load(String code, Map<String, Entry> target) {
+        transactionTemplate.execute(status -> couponRepository.findByCode(code))
+                .ifPresent(coupon -> target.put(code, Entry.of(coupon)));
+        unknownCodes.invalidate(code);
+    }
+
+    public record Entry(UUID id, String code, Money discount, Instant expiryDate, boolean active,
+                        Integer maxRedemptions, Integer maxRedemptionsPerCustomer) {
+
+        static Entry of(Coupon coupon) {
+            return new Entry(coupon.getId(), coupon.getCode(), coupon.getDiscount(), coupon.getExpiryDate(),
+                    coupon.isActive(), coupon.getMaxRedemptions(), coupon.getMaxRedemptionsPerCustomer());
+        }
+
+        public boolean isLimited() {
+            return maxRedemptions != null || maxRedemptionsPerCustomer != null;
+        }
+    }
+}
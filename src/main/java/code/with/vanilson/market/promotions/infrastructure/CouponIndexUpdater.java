@@ -0,0 +1,41 @@
+package code.with.vanilson.market.promotions.infrastructure;
+
+import code.with.vanilson.market.events.domain.CouponIssuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Adds new coupons to every node's {@link CouponIndex}. Once a coupon's creation commits, its code is
+ * published on {@link CouponIndex#CREATED_CHANNEL} and each subscribed node loads it into its index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CouponIndexUpdater implements MessageListener {
+
+    private final CouponIndex couponIndex;
+    private final StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener
+    public void onCouponIssued(CouponIssuedEvent event) {
+        couponIndex.refresh(event.getCode());
+        try {
+            redisTemplate.convertAndSend(CouponIndex.CREATED_CHANNEL, event.getCode());
+        } catch (RuntimeException e) {
+            // Other nodes pick the coupon up on their next full reload
+            log.warn("Failed to broadcast new coupon {}", event.getCode(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        couponIndex.refresh(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
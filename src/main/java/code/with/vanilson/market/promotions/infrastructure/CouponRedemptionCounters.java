@@ -0,0 +1,217 @@
+package code.with.vanilson.market.promotions.infrastructure;
+
+import code.with.vanilson.market.promotions.domain.CouponRedemptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redemption counters for coupons with a usage cap, kept in Redis so that thousands of orders a second
+ * on one code check and take a slot with a single script call instead of locking a database row.
+ *
+ * <p>Both counters of a coupon share a hash tag, so one script can check the global and the per-customer
+ * cap and increment both atomically, also on a cluster. A counter Redis does not hold (first use, eviction,
+ * restart) is seeded from {@code coupon_redemptions} before the script is retried. Per-customer counters
+ * expire after {@code customer-counter-ttl-seconds} of inactivity and are seeded again on next use.
+ *
+ * <p>A slot taken inside a transaction is recorded under the order id in a hold set next to each counter,
+ * and handed back on rollback only if its hold is still there. Seeding a counter clears its hold set, so a
+ * rollback never decrements a counter that was seeded after its slot was taken. A commit that finds its
+ * hold gone adds itself to the re-seeded counter, since the seed may have been read before the commit.
+ *
+ * <p>Seeding cannot see transactions still in flight, so a counter re-seeded while slots are held can
+ * briefly undercount them: a slot committed between the seed's read and its write is not counted. A crash
+ * between taking a slot and committing leaves the counter one too high until it is re-seeded, which only
+ * turns redemptions away.
+ */
+@Component
+@Slf4j
+public class CouponRedemptionCounters {
+
+    public enum Outcome { ACQUIRED, TOTAL_EXHAUSTED, CUSTOMER_EXHAUSTED }
+
+    // Return codes of ACQUIRE
+    private static final long GRANTED = 1;
+    private static final long TOTAL_FULL = 0;
+    private static final long CUSTOMER_FULL = -1;
+    private static final long TOTAL_MISSING = -2;
+    private static final long CUSTOMER_MISSING = -3;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String UNLIMITED = "-1";
+
+    // KEYS: total counter, customer counter, total holds, customer holds.
+    // ARGV: total cap, customer cap (-1 for none), customer counter TTL in ms, hold token ('' for none)
+    static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local maxTotal = tonumber(ARGV[1])
+            local maxPerCustomer = tonumber(ARGV[2])
+            if maxTotal >= 0 then
+              local used = redis.call('GET', KEYS[1])
+              if not used then
+                return -2
+              end
+              if tonumber(used) >= maxTotal then
+                return 0
+              end
+            end
+            if maxPerCustomer >= 0 then
+              local used = redis.call('GET', KEYS[2])
+              if not used then
+                return -3
+              end
+              if tonumber(used) >= maxPerCustomer then
+                return -1
+              end
+            end
+            if maxTotal >= 0 then
+              redis.call('INCR', KEYS[1])
+              if ARGV[4] ~= '' then
+                redis.call('SADD', KEYS[3], ARGV[4])
+                redis.call('PEXPIRE', KEYS[3], ARGV[3])
+              end
+            end
+            if maxPerCustomer >= 0 then
+              redis.call('INCR', KEYS[2])
+              redis.call('PEXPIRE', KEYS[2], ARGV[3])
+              if ARGV[4] ~= '' then
+                redis.call('SADD', KEYS[4], ARGV[4])
+                redis.call('PEXPIRE', KEYS[4], ARGV[3])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // Same KEYS as ACQUIRE. ARGV: hold token. Only decrements a counter that still holds the token.
+    static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            for i = 1, 2 do
+              if redis.call('SREM', KEYS[i + 2], ARGV[1]) == 1
+                  and tonumber(redis.call('GET', KEYS[i]) or '0') > 0 then
+                redis.call('DECR', KEYS[i])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // Same KEYS as ACQUIRE. ARGV: hold token, total cap, customer cap. A counter that lost the token was
+    // re-seeded after the slot was taken, possibly without this redemption, so the slot is counted again.
+    static final RedisScript<Long> SETTLE = new DefaultRedisScript<>("""
+            for i = 1, 2 do
+              if tonumber(ARGV[i + 1]) >= 0 and redis.call('SREM', KEYS[i + 2], ARGV[1]) == 0
+                  and redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('INCR', KEYS[i])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: counter, its holds. ARGV: redeemed count, TTL in ms (0 for none). Holds taken against the
+    // counter that was lost must not be released against the new one.
+    static final RedisScript<Long> SEED = new DefaultRedisScript<>("""
+            local set
+            if ARGV[2] == '0' then
+              set = redis.call('SET', KEYS[1], ARGV[1], 'NX')
+            else
+              set = redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2])
+            end
+            if not set then
+              return 0
+            end
+            redis.call('DEL', KEYS[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CouponRedemptionRepository redemptionRepository;
+    private final Duration customerCounterTtl;
+
+    public CouponRedemptionCounters(StringRedisTemplate redisTemplate,
+                                    CouponRedemptionRepository redemptionRepository,
+                                    @Value("${app.promotions.redemptions.customer-counter-ttl-seconds:86400}") long customerCounterTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.redemptionRepository = redemptionRepository;
+        this.customerCounterTtl = Duration.ofSeconds(customerCounterTtlSeconds);
+    }
+
+    /**
+     * Takes one redemption slot of {@code coupon} for {@code customerId} on behalf of {@code orderId} if
+     * neither cap has been reached. When called inside a transaction the slot is handed back automatically
+     * if that transaction rolls back.
+     */
+    public Outcome acquire(CouponIndex.Entry coupon, UUID customerId, UUID orderId) {
+        List<String> keys = keys(coupon.id(), customerId);
+        String maxTotal = cap(coupon.maxRedemptions());
+        String maxPerCustomer = cap(coupon.maxRedemptionsPerCustomer());
+        String token = TransactionSynchronizationManager.isSynchronizationActive() ? orderId.toString() : "";
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Long result = redisTemplate.execute(ACQUIRE, keys, maxTotal, maxPerCustomer,
+                    String.valueOf(customerCounterTtl.toMillis()), token);
+            if (result == null) {
+                throw new IllegalStateException("Redemption counter script returned no result for coupon " + coupon.id());
+            }
+            if (result == GRANTED) {
+                settleOnCompletion(keys, token, maxTotal, maxPerCustomer);
+                return Outcome.ACQUIRED;
+            }
+            if (result == TOTAL_FULL) {
+                return Outcome.TOTAL_EXHAUSTED;
+            }
+            if (result == CUSTOMER_FULL) {
+                return Outcome.CUSTOMER_EXHAUSTED;
+            }
+            if (result == TOTAL_MISSING) {
+                seed(keys.get(0), keys.get(2), redemptionRepository.countByCouponId(coupon.id()), Duration.ZERO);
+            } else if (result == CUSTOMER_MISSING) {
+                seed(keys.get(1), keys.get(3),
+                        redemptionRepository.countByCouponIdAndCustomerId(coupon.id(), customerId), customerCounterTtl);
+            }
+        }
+        throw new IllegalStateException("Could not seed redemption counters for coupon " + coupon.id());
+    }
+
+    static List<String> keys(UUID couponId, UUID customerId) {
+        String prefix = "coupon-redemptions:{" + couponId + "}:";
+        String customer = prefix + "customer:" + customerId;
+        return List.of(prefix + "total", customer, prefix + "total:holds", customer + ":holds");
+    }
+
+    private void seed(String key, String holdsKey, long redeemed, Duration ttl) {
+        // Another node may have seeded the counter and handed out slots since; SEED never overwrites it
+        redisTemplate.execute(SEED, List.of(key, holdsKey), String.valueOf(redeemed), String.valueOf(ttl.toMillis()));
+    }
+
+    private void settleOnCompletion(List<String> keys, String token, String maxTotal, String maxPerCustomer) {
+        if (token.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        redisTemplate.execute(SETTLE, keys, token, maxTotal, maxPerCustomer);
+                    } else {
+                        redisTemplate.execute(RELEASE, keys, token);
+                    }
+                } catch (RuntimeException e) {
+                    // A lost release leaves the counter one high until it is re-seeded, which only rejects
+                    // early; a lost settle only leaves a hold behind until its set expires
+                    log.warn("Failed to settle redemption slot {} of {}", token, keys.get(0), e);
+                }
+            }
+        });
+    }
+
+    private static String cap(Integer limit) {
+        return limit == null ? UNLIMITED : String.valueOf(limit);
+    }
+}
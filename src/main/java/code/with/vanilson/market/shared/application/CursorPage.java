@@ -0,0 +1,67 @@
+package code.with.vanilson.market.shared.application;
+
+import code.with.vanilson.market.shared.domain.DomainException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing ordered by id. {@code nextCursor} is an opaque token
+ * holding the last id returned; pass it back to continue, or stop when it is {@code null}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Clamps a requested page size to {@code [1, MAX_PAGE_SIZE]}.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize, Function<E, UUID> id, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? encode(id.apply(page.get(page.size() - 1))) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), next);
+    }
+
+    public static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits()).putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static UUID decode(String cursor) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != 16) {
+                throw new DomainException("Invalid cursor");
+            }
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Invalid cursor");
+        }
+    }
+}
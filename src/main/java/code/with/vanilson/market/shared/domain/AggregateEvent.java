@@ -0,0 +1,11 @@
+package code.with.vanilson.market.shared.domain;
+
+import java.util.UUID;
+
+/**
+ * An integration event that belongs to a single aggregate. The aggregate id is used as the
+ * Kafka record key, so events for the same entity land on one partition and stay in order.
+ */
+public interface AggregateEvent {
+    UUID aggregateId();
+}
@@ -0,0 +1,29 @@
+package code.with.vanilson.market.shared.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CouponRedeemedEvent implements Serializable, AggregateEvent {
+    private UUID couponId;
+    private String code;
+    private UUID customerId;
+    private UUID orderId;
+    private BigDecimal discountAmount;
+    private String currency;
+    private Instant redeemedAt;
+
+    @Override
+    public UUID aggregateId() {
+        return couponId;
+    }
+}
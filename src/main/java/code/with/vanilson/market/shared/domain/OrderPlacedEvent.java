@@ -12,9 +12,14 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class OrderPlacedEvent implements Serializable {
+public class OrderPlacedEvent implements Serializable, AggregateEvent {
     private UUID orderId;
     private UUID customerId;
     private BigDecimal totalAmount;
     private String currency;
+
+    @Override
+    public UUID aggregateId() {
+        return orderId;
+    }
 }
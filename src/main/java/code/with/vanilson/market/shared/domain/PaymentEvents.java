@@ -15,20 +15,30 @@ public class PaymentEvents {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class PaymentCapturedEvent implements Serializable {
+    public static class PaymentCapturedEvent implements Serializable, AggregateEvent {
         private UUID paymentId;
         private UUID orderId;
         private BigDecimal amount;
         private String currency;
+
+        @Override
+        public UUID aggregateId() {
+            return paymentId;
+        }
     }
 
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class PaymentFailedEvent implements Serializable {
+    public static class PaymentFailedEvent implements Serializable, AggregateEvent {
         private UUID paymentId;
         private UUID orderId;
         private String reason;
+
+        @Override
+        public UUID aggregateId() {
+            return paymentId;
+        }
     }
 }
@@ -12,9 +12,14 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class UserRegisteredEvent implements Serializable {
+public class UserRegisteredEvent implements Serializable, AggregateEvent {
     private UUID userId;
     private String email;
     private String tenantId;
     private String name; // Assuming name is captured or derived
+
+    @Override
+    public UUID aggregateId() {
+        return userId;
+    }
 }
@@ -5,19 +5,111 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Makes requests carrying {@code X-Idempotency-Key} safe to retry.
+ *
+ * <p>The request body is buffered so it can be hashed; bodies over {@code max-request-bytes} are rejected
+ * with 413 before anything is claimed.
+ *
+ * <p>The Redis key is scoped to the caller's tenant and principal, the method and the URI, so the same header
+ * value from two tenants never collides. The first request claims the key and, once it completes, its status,
+ * headers and body are stored under the key for 24 hours together with a SHA-256 of the request body.
+ * A duplicate with the same body gets that stored response replayed byte for byte; one with a different body
+ * is rejected with 422. A duplicate that arrives while the first is still running waits up to
+ * {@code wait-timeout-ms} for the result. Only a response the handler produced is stored: a request that
+ * throws, a 5xx or 429, or a response written before any handler was reached (a 401 or 403 from security,
+ * a 404) releases the key so the client can retry for real.
+ *
+ * <p>Claiming and reading the key is one Lua call, and so is storing the result, which only succeeds while
+ * this request still owns the claim.
+ */
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class IdempotencyFilter extends OncePerRequestFilter {
 
+    static final String HEADER = "X-Idempotency-Key";
+    static final String TOO_LARGE = "TOO_LARGE";
+
+    static final String IN_FLIGHT = "P";
+    static final String DONE = "D";
+
+    /**
+     * Returns the current value, or claims the key with ARGV[1] for ARGV[2] ms and returns nil.
+     */
+    static final RedisScript<String> CLAIM = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+              return current
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return false
+            """, String.class);
+
+    /**
+     * Replaces our claim ARGV[1] with ARGV[2] for ARGV[3] ms, or deletes it when ARGV[2] is empty.
+     */
+    static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+              return 0
+            end
+            if ARGV[2] == '' then
+              redis.call('DEL', KEYS[1])
+            else
+              redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    private static final String SEPARATOR = "|";
+    private static final Duration PROCESSING_TTL = Duration.ofMinutes(5);
+    private static final Duration RESULT_TTL = Duration.ofHours(24);
+    private static final Set<String> UNREPLAYABLE_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase());
+
     private final StringRedisTemplate redisTemplate;
+    private final int maxRequestBytes;
+    private final int maxResponseBytes;
+    private final long waitTimeoutMs;
+    private final long pollIntervalMs;
+
+    public IdempotencyFilter(StringRedisTemplate redisTemplate,
+                             @Value("${app.idempotency.max-request-bytes:1048576}") int maxRequestBytes,
+                             @Value("${app.idempotency.max-response-bytes:65536}") int maxResponseBytes,
+                             @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                             @Value("${app.idempotency.poll-interval-ms:50}") long pollIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.maxRequestBytes = maxRequestBytes;
+        this.maxResponseBytes = maxResponseBytes;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -25,35 +117,153 @@ public class IdempotencyFilter extends OncePerRequestFilter {
             @Nonnull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String idempotencyKey = request.getHeader("X-Idempotency-Key");
-
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            String method = request.getMethod();
-            String path = request.getRequestURI();
-            String key = "idempotency:" + idempotencyKey;
+        String idempotencyKey = request.getHeader(HEADER);
 
-            // Simple check: if key exists, return conflict or cached response
-            // For this scaffold, we'll return 409 Conflict if processing/processed
-            // A full implementation would cache the response and return it.
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            Boolean set = redisTemplate.opsForValue().setIfAbsent(key, "PROCESSING", Duration.ofMinutes(5));
+        if (request.getContentLengthLong() > maxRequestBytes) {
+            writeError(response, 413, "Request body is too large for an idempotent request");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, maxRequestBytes);
+        if (cachedRequest.isTooLarge()) {
+            writeError(response, 413, "Request body is too large for an idempotent request");
+            return;
+        }
+        String key = redisKey(request, idempotencyKey);
+        String bodyHash = sha256(cachedRequest.body());
+        String claim = IN_FLIGHT + SEPARATOR + bodyHash + SEPARATOR + UUID.randomUUID();
 
-            if (Boolean.FALSE.equals(set)) {
-                response.setStatus(409);
-                response.getWriter().write("{\"error\": \"Duplicate request detected\"}");
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            String current = redisTemplate.execute(CLAIM, List.of(key), claim, String.valueOf(PROCESSING_TTL.toMillis()));
+            if (current == null) {
+                process(key, claim, bodyHash, cachedRequest, response, filterChain);
                 return;
             }
 
-            try {
-                filterChain.doFilter(request, response);
-                // Mark as processed or store response
-                redisTemplate.opsForValue().set(key, "PROCESSED", Duration.ofHours(24));
-            } catch (Exception e) {
-                redisTemplate.delete(key); // Release lock on failure
-                throw e;
+            String[] parts = current.split("\\|", 3);
+            if (parts.length < 3 || !parts[1].equals(bodyHash)) {
+                writeError(response, 422, "Idempotency key was already used for a different request");
+                return;
+            }
+            if (DONE.equals(parts[0])) {
+                if (TOO_LARGE.equals(parts[2])) {
+                    writeError(response, 409, "Original response is too large to replay");
+                } else {
+                    replay(StoredResponse.decode(parts[2]), response);
+                }
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                writeError(response, 409, "Duplicate request is still being processed");
+                return;
+            }
+            if (!pause()) {
+                writeError(response, 409, "Duplicate request detected");
+                return;
             }
+        }
+    }
+
+    private void process(String key, String claim, String bodyHash, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (Exception e) {
+            complete(key, claim, "", Duration.ZERO); // Release lock on failure
+            throw e;
+        }
+
+        if (!isReplayable(request, wrapper.getStatus())) {
+            complete(key, claim, "", Duration.ZERO);
         } else {
-            filterChain.doFilter(request, response);
+            complete(key, claim, DONE + SEPARATOR + bodyHash + SEPARATOR + capture(wrapper), RESULT_TTL);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Whether the response is the handler's own final answer. Spring MVC sets the best matching handler
+     * attribute once a handler is mapped, so its absence means security or routing answered instead.
+     */
+    private static boolean isReplayable(HttpServletRequest request, int status) {
+        return status < 500 && status != 429
+                && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) != null;
+    }
+
+    private void complete(String key, String claim, String value, Duration ttl) {
+        Long updated = redisTemplate.execute(COMPLETE, List.of(key), claim, value, String.valueOf(ttl.toMillis()));
+        if (updated == null || updated == 0) {
+            log.warn("Idempotency claim on {} expired before the request completed", key);
+        }
+    }
+
+    private String capture(ContentCachingResponseWrapper wrapper) {
+        byte[] body = wrapper.getContentAsByteArray();
+        if (body.length > maxResponseBytes) {
+            log.warn("Not storing idempotent response of {} bytes (limit {})", body.length, maxResponseBytes);
+            return TOO_LARGE;
+        }
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!UNREPLAYABLE_HEADERS.contains(name.toLowerCase())) {
+                for (String value : wrapper.getHeaders(name)) {
+                    headers.add(Map.entry(name, value));
+                }
+            }
+        }
+        return new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), headers, body).encode();
+    }
+
+    /**
+     * {@code idempotency:<tenant>:<sha256 of principal, method, URI and header value>}; the tenant stays
+     * readable so one tenant's keys can be inspected or cleared together.
+     */
+    static String redisKey(HttpServletRequest request, String idempotencyKey) {
+        Object tenantId = request.getAttribute(TenantContext.TENANT_ID);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? "anonymous" : authentication.getName();
+        String scope = String.join("\n", principal, request.getMethod(), request.getRequestURI(), idempotencyKey);
+        return "idempotency:" + (tenantId == null ? "-" : tenantId) + ":"
+                + sha256(scope.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(header -> response.addHeader(header.getKey(), header.getValue()));
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pollIntervalMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 }
@@ -0,0 +1,57 @@
+package code.with.vanilson.market.shared.infrastructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A completed response kept for idempotent replay: status, headers and the exact body bytes, gzipped and
+ * Base64 encoded so it fits in a Redis string.
+ */
+record StoredResponse(int status, String contentType, List<Map.Entry<String, String>> headers, byte[] body) {
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeShort(status);
+            out.writeUTF(contentType == null ? "" : contentType);
+            out.writeShort(headers.size());
+            for (Map.Entry<String, String> header : headers) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    static StoredResponse decode(String encoded) {
+        byte[] compressed = Base64.getDecoder().decode(encoded);
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(compressed)))) {
+            int status = in.readUnsignedShort();
+            String contentType = in.readUTF();
+            int headerCount = in.readUnsignedShort();
+            List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(Map.entry(in.readUTF(), in.readUTF()));
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new StoredResponse(status, contentType.isEmpty() ? null : contentType, List.copyOf(headers), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
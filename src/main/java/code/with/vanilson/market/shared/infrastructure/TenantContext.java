@@ -0,0 +1,14 @@
+package code.with.vanilson.market.shared.infrastructure;
+
+/**
+ * Names the request attribute holding the caller's tenant. {@code JwtAuthenticationFilter} sets it
+ * from the token's {@code tenantId} claim and controllers read it with
+ * {@code @RequestAttribute(TenantContext.TENANT_ID)}, passing it down to every scoped query.
+ */
+public final class TenantContext {
+
+    public static final String TENANT_ID = "tenantId";
+
+    private TenantContext() {
+    }
+}
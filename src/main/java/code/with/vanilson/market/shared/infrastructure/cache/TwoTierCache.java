@@ -0,0 +1,120 @@
+package code.with.vanilson.market.shared.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * A node-local Caffeine cache (L1) in front of a shared Redis cache (L2).
+ *
+ * <p>Reads try L1, then L2, and fill L1 from whatever L2 returns. Writes and evictions go to both tiers and
+ * are then broadcast, so other nodes drop their L1 copy and re-read from L2 on the next access.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    /**
+     * @param invalidationPublisher called with the cache name and the evicted key, or {@code null} for a clear
+     */
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        Cache remote,
+                        BiConsumer<String, String> invalidationPublisher) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper shared = remote.get(key);
+        if (shared == null || shared.get() == null) {
+            return null;
+        }
+        local.put(localKey, shared.get());
+        return shared.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs the loader once per key on this node; other nodes may still race on L2
+        return (T) fromStoreValue(local.get(localKey(key), localKey -> {
+            ValueWrapper shared = remote.get(key);
+            if (shared != null && shared.get() != null) {
+                return shared.get();
+            }
+            Object loaded;
+            try {
+                loaded = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            remote.put(key, loaded);
+            return loaded;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        remote.put(key, storeValue);
+        local.put(localKey(key), storeValue);
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        // Invalidating L1 first waits out a load of this key already running here, so whatever it wrote to
+        // Redis from a pre-commit read is removed by the eviction that follows
+        local.invalidate(localKey(key));
+        remote.evict(key);
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        remote.clear();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Drops the L1 copy only; used when another node changed the entry.
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    // Redis keys are the key's string form too, so a broadcast key identifies the same entry on every node
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
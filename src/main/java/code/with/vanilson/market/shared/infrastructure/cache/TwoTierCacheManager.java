@@ -0,0 +1,82 @@
+package code.with.vanilson.market.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds a {@link TwoTierCache} for every cache configured on the Redis cache manager, and keeps the L1 tiers
+ * of all nodes coherent over {@link #INVALIDATION_CHANNEL}. Messages are
+ * {@code <node>|E|<cache>|<key>} for an eviction and {@code <node>|C|<cache>} for a clear; a node ignores
+ * its own messages. A lost message leaves an L1 entry stale for at most the local TTL.
+ */
+@Slf4j
+public class TwoTierCacheManager extends AbstractCacheManager implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache.invalidate";
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisCacheManager remote;
+    private final Caffeine<Object, Object> localSpec;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCacheManager(RedisCacheManager remote,
+                               Caffeine<Object, Object> localSpec,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.localSpec = localSpec;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<? extends org.springframework.cache.Cache> loadCaches() {
+        List<TwoTierCache> caches = new ArrayList<>();
+        for (String name : remote.getCacheNames()) {
+            Cache<String, Object> local = localSpec.build();
+            CaffeineCacheMetrics.monitor(meterRegistry, local, name, "tier", "local");
+            caches.add(new TwoTierCache(name, local, remote.getCache(name), this::publishInvalidation));
+        }
+        return caches;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        if (getCache(parts[2]) instanceof TwoTierCache cache) {
+            cache.evictLocal(CLEAR.equals(parts[1]) || parts.length < 4 ? null : parts[3]);
+        }
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        String message = key == null
+                ? String.join("|", nodeId, CLEAR, cacheName)
+                : String.join("|", nodeId, EVICT, cacheName, key);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast invalidation of {} in cache {}", key, cacheName, e);
+        }
+    }
+}
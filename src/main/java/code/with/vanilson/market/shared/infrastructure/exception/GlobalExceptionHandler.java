@@ -3,8 +3,10 @@ package code.with.vanilson.market.shared.infrastructure.exception;
 import code.with.vanilson.market.shared.domain.DomainException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -203,6 +205,40 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleHashingCapacityExceeded(
+            HashingCapacityExceededException ex, HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                ex.getMessage(),
+                "TOO_MANY_REQUESTS",
+                ZoneId.systemDefault().toString(),
+                request.getRequestURI(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(ServletRequestBindingException.class)
+    public ResponseEntity<ErrorResponse> handleMissingRequestValue(
+            ServletRequestBindingException ex, HttpServletRequest request) {
+
+        ErrorResponse error = new ErrorResponse(
+                ex.getMessage(),
+                "MISSING_REQUEST_VALUE",
+                ZoneId.systemDefault().toString(),
+                request.getRequestURI(),
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(org.springframework.kafka.KafkaException.class)
     public ResponseEntity<ErrorResponse> handleKafkaException(
             org.springframework.kafka.KafkaException ex, HttpServletRequest request) {
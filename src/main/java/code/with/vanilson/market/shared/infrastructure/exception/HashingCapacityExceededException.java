@@ -0,0 +1,7 @@
+package code.with.vanilson.market.shared.infrastructure.exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
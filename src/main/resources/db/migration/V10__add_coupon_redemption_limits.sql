@@ -0,0 +1,18 @@
+-- V10: Coupon redemption limits and the per-use redemption log.
+-- A NULL limit means unlimited. Redemptions are only ever inserted, so a popular coupon
+-- never funnels its orders through an update of one row.
+ALTER TABLE coupons ADD COLUMN IF NOT EXISTS max_redemptions INTEGER;
+ALTER TABLE coupons ADD COLUMN IF NOT EXISTS max_redemptions_per_customer INTEGER;
+
+CREATE TABLE IF NOT EXISTS coupon_redemptions (
+    id UUID PRIMARY KEY,
+    coupon_id UUID NOT NULL,
+    customer_id UUID NOT NULL,
+    order_id UUID NOT NULL,
+    redeemed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    FOREIGN KEY (coupon_id) REFERENCES coupons(id),
+    CONSTRAINT uk_coupon_redemptions_coupon_order UNIQUE (coupon_id, order_id)
+);
+
+-- Counters are re-seeded from these counts when Redis has lost them
+CREATE INDEX IF NOT EXISTS idx_coupon_redemptions_coupon_customer ON coupon_redemptions(coupon_id, customer_id);
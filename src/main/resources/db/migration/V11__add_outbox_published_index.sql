@@ -0,0 +1,2 @@
+-- V11: Published outbox rows are purged by age once their retention has passed
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published ON outbox_events(published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- V12: Recovery code hashes are keyed with a server secret (see RecoveryCodeHasher)
+
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+-- The stored value is the SHA-256 of the code, which is exactly what the HMAC is taken over
+UPDATE recovery_codes
+SET code_hash = encode(hmac(decode(code_hash, 'hex'), convert_to('${recovery_code_secret}', 'UTF8'), 'sha256'), 'hex');
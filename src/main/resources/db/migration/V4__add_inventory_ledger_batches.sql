@@ -0,0 +1,10 @@
+-- V4: Reconciliation batches flushed from the in-memory hot SKU inventory ledger.
+-- A row is written in the same transaction that applies the batch to products.inventory_count,
+-- so crash recovery can tell which batches from the reservation log already reached Postgres.
+CREATE TABLE IF NOT EXISTS inventory_ledger_batches (
+    id UUID PRIMARY KEY,
+    product_id UUID NOT NULL,
+    quantity BIGINT NOT NULL,
+    applied_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
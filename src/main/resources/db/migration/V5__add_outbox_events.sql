@@ -0,0 +1,13 @@
+-- V5: Transactional outbox. Events are inserted in the same transaction as the aggregate change
+-- and relayed to Kafka in batches by a background worker.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    published_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Only unpublished rows are ever scanned by the relay
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events(created_at) WHERE published_at IS NULL;
@@ -0,0 +1,2 @@
+-- V6: Kafka record key (the aggregate id) so events for one entity stay on one partition
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS event_key VARCHAR(255);
@@ -0,0 +1,14 @@
+-- V7: Composite indexes for tenant-scoped lookups and keyset pagination
+
+-- Listings seek on (tenant_id, id) so every page is an index range scan in key order
+CREATE INDEX IF NOT EXISTS idx_products_tenant_id_id ON products(tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_customers_tenant_id_id ON customers(tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_id_id ON orders(tenant_id, id);
+
+-- A customer's order history is read newest first straight from the index
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_customer_created_at ON orders(tenant_id, customer_id, created_at);
+
+-- The single-column tenant indexes from V3 are prefixes of the ones above
+DROP INDEX IF EXISTS idx_products_tenant_id;
+DROP INDEX IF EXISTS idx_customers_tenant_id;
+DROP INDEX IF EXISTS idx_orders_tenant_id;
@@ -0,0 +1,17 @@
+-- V8: Recovery codes move out of the users fetch graph and are stored hashed
+
+CREATE TABLE recovery_codes (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    code_hash VARCHAR(64) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Burning a code is a single DELETE on (user_id, code_hash)
+CREATE UNIQUE INDEX idx_recovery_codes_user_id_code_hash ON recovery_codes(user_id, code_hash);
+
+INSERT INTO recovery_codes (id, user_id, code_hash)
+SELECT gen_random_uuid(), user_id, encode(sha256(convert_to(code, 'UTF8')), 'hex')
+FROM user_recovery_codes;
+
+DROP TABLE user_recovery_codes;
@@ -0,0 +1,2 @@
+-- V9: Lets the refresh token reaper find expired rows without scanning the table
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens(expiry_date);
@@ -6,7 +6,9 @@ import code.with.vanilson.market.identity.infrastructure.CustomUserDetailsServic
 import code.with.vanilson.market.identity.infrastructure.JwtAuthenticationFilter;
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
 import code.with.vanilson.market.shared.domain.DomainException;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.infrastructure.IdempotencyFilter;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerAlreadyExistsException;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerNotFoundException;
@@ -46,6 +48,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("Customer Controller Tests")
 class CustomerControllerTest {
 
+    private static final String TENANT_ID = "t1";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -83,16 +87,17 @@ class CustomerControllerTest {
         response.setEmail("john.doe@example.com");
         response.setKycVerified(false);
 
-        when(customerService.getAllcustomers()).thenReturn(List.of(response));
+        when(customerService.getAllcustomers(TENANT_ID, null, null)).thenReturn(new CursorPage<>(List.of(response), "next"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers").with(csrf()))
+        mockMvc.perform(get("/api/customers").with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].name").value("John Doe"))
-                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+                .andExpect(jsonPath("$.items[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
-        verify(customerService, times(1)).getAllcustomers();
+        verify(customerService, times(1)).getAllcustomers(TENANT_ID, null, null);
     }
 
     @Test
@@ -104,15 +109,15 @@ class CustomerControllerTest {
         response.setId(id.toString());
         response.setName("John Doe");
 
-        when(customerService.getCustomerById(id)).thenReturn(response);
+        when(customerService.getCustomerById(TENANT_ID, id)).thenReturn(response);
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(id.toString()))
                 .andExpect(jsonPath("$.name").value("John Doe"));
 
-        verify(customerService, times(1)).getCustomerById(id);
+        verify(customerService, times(1)).getCustomerById(TENANT_ID, id);
     }
 
     @Test
@@ -171,17 +176,18 @@ class CustomerControllerTest {
         response.setId(id.toString());
         response.setName("Updated Name");
 
-        when(customerService.updateCustomer(eq(id), any(CustomerDto.UpdateRequest.class))).thenReturn(response);
+        when(customerService.updateCustomer(eq(TENANT_ID), eq(id), any(CustomerDto.UpdateRequest.class))).thenReturn(response);
 
         // When & Then
         mockMvc.perform(put("/api/customers/{id}", id)
                 .with(csrf())
+                .requestAttr(TenantContext.TENANT_ID, TENANT_ID)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Updated Name"));
 
-        verify(customerService, times(1)).updateCustomer(eq(id), any());
+        verify(customerService, times(1)).updateCustomer(eq(TENANT_ID), eq(id), any());
     }
 
     @Test
@@ -189,13 +195,13 @@ class CustomerControllerTest {
     void shouldVerifyKycSuccessfully() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        doNothing().when(customerService).verifyKyc(id);
+        doNothing().when(customerService).verifyKyc(TENANT_ID, id);
 
         // When & Then
-        mockMvc.perform(post("/api/customers/{id}/kyc", id).with(csrf()))
+        mockMvc.perform(post("/api/customers/{id}/kyc", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isNoContent());
 
-        verify(customerService, times(1)).verifyKyc(id);
+        verify(customerService, times(1)).verifyKyc(TENANT_ID, id);
     }
 
     @Test
@@ -203,13 +209,13 @@ class CustomerControllerTest {
     void shouldDeleteCustomerSuccessfully() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        doNothing().when(customerService).deleteCustomerById(id);
+        doNothing().when(customerService).deleteCustomerById(TENANT_ID, id);
 
         // When & Then
-        mockMvc.perform(delete("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(delete("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isNoContent());
 
-        verify(customerService, times(1)).deleteCustomerById(id);
+        verify(customerService, times(1)).deleteCustomerById(TENANT_ID, id);
     }
 
     @Test
@@ -217,10 +223,10 @@ class CustomerControllerTest {
     void shouldHandleCustomerNotFoundException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(customerService.getCustomerById(id)).thenThrow(new CustomerNotFoundException("Customer not found"));
+        when(customerService.getCustomerById(TENANT_ID, id)).thenThrow(new CustomerNotFoundException("Customer not found"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errorCode").value("CUSTOMER_NOT_FOUND"))
                 .andExpect(jsonPath("$.message").value("Customer not found"));
@@ -251,10 +257,10 @@ class CustomerControllerTest {
     void shouldHandleKycAlreadyVerifiedException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        doThrow(new KycAlreadyVerifiedException("Already verified")).when(customerService).verifyKyc(id);
+        doThrow(new KycAlreadyVerifiedException("Already verified")).when(customerService).verifyKyc(TENANT_ID, id);
 
         // When & Then
-        mockMvc.perform(post("/api/customers/{id}/kyc", id).with(csrf()))
+        mockMvc.perform(post("/api/customers/{id}/kyc", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.errorCode").value("KYC_ALREADY_VERIFIED"));
     }
@@ -264,10 +270,10 @@ class CustomerControllerTest {
     void shouldHandleDomainException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(customerService.getCustomerById(id)).thenThrow(new DomainException("Domain error"));
+        when(customerService.getCustomerById(TENANT_ID, id)).thenThrow(new DomainException("Domain error"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Domain Error"));
     }
@@ -277,10 +283,10 @@ class CustomerControllerTest {
     void shouldHandleDataIntegrityViolationException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(customerService.getCustomerById(id)).thenThrow(new DataIntegrityViolationException("Conflict"));
+        when(customerService.getCustomerById(TENANT_ID, id)).thenThrow(new DataIntegrityViolationException("Conflict"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.errorCode").value("DATA_INTEGRITY_VIOLATION"));
     }
@@ -290,10 +296,10 @@ class CustomerControllerTest {
     void shouldHandleRuntimeException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(customerService.getCustomerById(id)).thenThrow(new RuntimeException("Unexpected"));
+        when(customerService.getCustomerById(TENANT_ID, id)).thenThrow(new RuntimeException("Unexpected"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("RUNTIME_ERROR"));
     }
@@ -303,10 +309,10 @@ class CustomerControllerTest {
     void shouldHandleCheckedException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(customerService.getCustomerById(id)).thenThrow(new RuntimeException("Checked exception wrap"));
+        when(customerService.getCustomerById(TENANT_ID, id)).thenThrow(new RuntimeException("Checked exception wrap"));
 
         // When & Then
-        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/customers/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("RUNTIME_ERROR"));
     }
@@ -3,13 +3,16 @@ package code.with.vanilson.market.customers.application;
 import code.with.vanilson.market.customers.api.CustomerDto;
 import code.with.vanilson.market.customers.domain.Customer;
 import code.with.vanilson.market.customers.domain.CustomerRepository;
+import code.with.vanilson.market.events.domain.CustomerChangedEvent;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerAlreadyExistsException;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +20,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -118,10 +122,10 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(customer, "id", CUSTOMER_ID);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(customer));
 
         // Act
-        CustomerDto.Response response = customerService.getCustomerById(CUSTOMER_ID);
+        CustomerDto.Response response = customerService.getCustomerById(TENANT_ID, CUSTOMER_ID);
 
         // Assert
         assertThat(response).isNotNull();
@@ -129,21 +133,21 @@ class CustomerServiceTest {
         assertThat(response.getName()).isEqualTo(NAME);
         assertThat(response.getEmail()).isEqualTo(EMAIL);
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
     }
 
     @Test
     @DisplayName("should throw CustomerNotFoundException when customer does not exist")
     void testGetCustomerById_CustomerNotFound() {
         // Arrange
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.empty());
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> customerService.getCustomerById(CUSTOMER_ID))
+        assertThatThrownBy(() -> customerService.getCustomerById(TENANT_ID, CUSTOMER_ID))
                 .isInstanceOf(CustomerNotFoundException.class)
                 .hasMessage("Customer not found");
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
     }
 
     // ========================= Update Customer Tests =========================
@@ -182,20 +186,22 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(updatedCustomer, "id", CUSTOMER_ID);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
         when(customerRepository.findByEmail(updatedEmail)).thenReturn(Optional.empty());
         when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
 
         // Act
-        CustomerDto.Response response = customerService.updateCustomer(CUSTOMER_ID, request);
+        CustomerDto.Response response = customerService.updateCustomer(TENANT_ID, CUSTOMER_ID, request);
 
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.getName()).isEqualTo(updatedName);
         assertThat(response.getEmail()).isEqualTo(updatedEmail);
         assertThat(response.isKycVerified()).isTrue();
+        assertThat(changeEvents(existingCustomer)).singleElement()
+                .satisfies(event -> assertThat(event.getCustomerId()).isEqualTo(CUSTOMER_ID));
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
         verify(customerRepository, times(1)).save(any(Customer.class));
     }
 
@@ -209,14 +215,34 @@ class CustomerServiceTest {
         request.setPhone("+1111111111");
         request.setKycVerified(false);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.empty());
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> customerService.updateCustomer(CUSTOMER_ID, request))
+        assertThatThrownBy(() -> customerService.updateCustomer(TENANT_ID, CUSTOMER_ID, request))
                 .isInstanceOf(CustomerNotFoundException.class)
                 .hasMessage("Customer not found");
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
+        verify(customerRepository, never()).save(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("should not update or verify a customer of another tenant")
+    void testUpdateCustomer_OtherTenant() {
+        // Arrange
+        String otherTenant = UUID.randomUUID().toString();
+        CustomerDto.UpdateRequest request = new CustomerDto.UpdateRequest();
+        request.setName("Hijacked");
+        request.setEmail("hijacked@example.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> customerService.updateCustomer(otherTenant, CUSTOMER_ID, request))
+                .isInstanceOf(CustomerNotFoundException.class);
+        assertThatThrownBy(() -> customerService.verifyKyc(otherTenant, CUSTOMER_ID))
+                .isInstanceOf(CustomerNotFoundException.class);
+
+        verify(customerRepository, times(2)).findByTenantIdAndId(otherTenant, CUSTOMER_ID);
+        verify(customerRepository, never()).findById(any());
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
@@ -243,15 +269,15 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(anotherCustomer, "id", UUID.randomUUID());
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
         when(customerRepository.findByEmail(existingEmail)).thenReturn(Optional.of(anotherCustomer));
 
         // Act & Assert
-        assertThatThrownBy(() -> customerService.updateCustomer(CUSTOMER_ID, request))
+        assertThatThrownBy(() -> customerService.updateCustomer(TENANT_ID, CUSTOMER_ID, request))
                 .isInstanceOf(CustomerAlreadyExistsException.class)
                 .hasMessage("Email already in use by another customer");
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
@@ -283,17 +309,17 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(updatedCustomer, "id", CUSTOMER_ID);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(existingCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
 
         // Act
-        CustomerDto.Response response = customerService.updateCustomer(CUSTOMER_ID, request);
+        CustomerDto.Response response = customerService.updateCustomer(TENANT_ID, CUSTOMER_ID, request);
 
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.getEmail()).isEqualTo(EMAIL);
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
         verify(customerRepository, times(1)).save(any(Customer.class));
     }
 
@@ -321,14 +347,14 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(verifiedCustomer, "id", CUSTOMER_ID);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(customer));
         when(customerRepository.save(any(Customer.class))).thenReturn(verifiedCustomer);
 
         // Act
-        customerService.verifyKyc(CUSTOMER_ID);
+        customerService.verifyKyc(TENANT_ID, CUSTOMER_ID);
 
         // Assert
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
         verify(customerRepository, times(1)).save(any(Customer.class));
     }
 
@@ -336,14 +362,14 @@ class CustomerServiceTest {
     @DisplayName("should throw CustomerNotFoundException when verifying KYC for non-existent customer")
     void testVerifyKyc_CustomerNotFound() {
         // Arrange
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.empty());
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> customerService.verifyKyc(CUSTOMER_ID))
+        assertThatThrownBy(() -> customerService.verifyKyc(TENANT_ID, CUSTOMER_ID))
                 .isInstanceOf(CustomerNotFoundException.class)
                 .hasMessage("Customer not found");
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
@@ -371,10 +397,10 @@ class CustomerServiceTest {
 
         List<Customer> customers = Arrays.asList(customer1, customer2);
 
-        when(customerRepository.findAll()).thenReturn(customers);
+        when(customerRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(customers);
 
         // Act
-        List<CustomerDto.Response> responses = customerService.getAllcustomers();
+        List<CustomerDto.Response> responses = customerService.getAllcustomers(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
@@ -382,23 +408,23 @@ class CustomerServiceTest {
         assertThat(responses.get(0).getName()).isEqualTo("Customer 1");
         assertThat(responses.get(1).getName()).isEqualTo("Customer 2");
 
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     @Test
     @DisplayName("should return empty list when no customers exist")
     void testGetAllCustomers_EmptyList() {
         // Arrange
-        when(customerRepository.findAll()).thenReturn(Arrays.asList());
+        when(customerRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Arrays.asList());
 
         // Act
-        List<CustomerDto.Response> responses = customerService.getAllcustomers();
+        List<CustomerDto.Response> responses = customerService.getAllcustomers(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
         assertThat(responses).isEmpty();
 
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     // ========================= Delete Customer Tests =========================
@@ -415,29 +441,38 @@ class CustomerServiceTest {
                 .build();
         ReflectionTestUtils.setField(customer, "id", CUSTOMER_ID);
 
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.of(customer));
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.of(customer));
 
         // Act
-        customerService.deleteCustomerById(CUSTOMER_ID);
+        customerService.deleteCustomerById(TENANT_ID, CUSTOMER_ID);
 
         // Assert
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
-        verify(customerRepository, times(1)).deleteById(CUSTOMER_ID);
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
+        verify(customerRepository, times(1)).delete(customer);
+        assertThat(changeEvents(customer)).singleElement()
+                .satisfies(event -> assertThat(event.getTenantId()).isEqualTo(TENANT_ID));
     }
 
     @Test
     @DisplayName("should throw CustomerNotFoundException when deleting non-existent customer")
     void testDeleteCustomerById_CustomerNotFound() {
         // Arrange
-        when(customerRepository.findById(CUSTOMER_ID)).thenReturn(Optional.empty());
+        when(customerRepository.findByTenantIdAndId(TENANT_ID, CUSTOMER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> customerService.deleteCustomerById(CUSTOMER_ID))
+        assertThatThrownBy(() -> customerService.deleteCustomerById(TENANT_ID, CUSTOMER_ID))
                 .isInstanceOf(CustomerNotFoundException.class)
                 .hasMessage("Customer not found");
 
-        verify(customerRepository, times(1)).findById(CUSTOMER_ID);
-        verify(customerRepository, never()).deleteById(any());
+        verify(customerRepository, times(1)).findByTenantIdAndId(TENANT_ID, CUSTOMER_ID);
+        verify(customerRepository, never()).delete(any(Customer.class));
     }
-}
 
+    private static List<CustomerChangedEvent> changeEvents(Customer customer) {
+        Collection<?> events = ReflectionTestUtils.invokeMethod(customer, "domainEvents");
+        return events.stream()
+                .filter(CustomerChangedEvent.class::isInstance)
+                .map(CustomerChangedEvent.class::cast)
+                .toList();
+    }
+}
@@ -0,0 +1,172 @@
+package code.with.vanilson.market.events;
+
+import code.with.vanilson.market.events.domain.EventProducer;
+import code.with.vanilson.market.events.domain.OutboxEventRepository;
+import code.with.vanilson.market.events.infrastructure.OutboxPurger;
+import code.with.vanilson.market.events.infrastructure.OutboxRelay;
+import code.with.vanilson.market.shared.domain.UserRegisteredEvent;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes through the outbox and checks that only committed events reach Kafka, and only through
+ * the instance holding the relay lock.
+ */
+class OutboxRelayIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String TOPIC = "outbox.relay.test";
+    private static final String LEADER_TOPIC = "outbox.relay.leader.test";
+
+    @Autowired
+    private EventProducer eventProducer;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxPurger outboxPurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Test
+    @DisplayName("committed events should be relayed and rolled back events dropped")
+    void relaysOnlyCommittedEvents() throws Exception {
+        UUID committedId = UUID.randomUUID();
+        UUID rolledBackId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status ->
+                eventProducer.publish(TOPIC, event(committedId)));
+        transactionTemplate.executeWithoutResult(status -> {
+            eventProducer.publish(TOPIC, event(rolledBackId));
+            status.setRollbackOnly();
+        });
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps(bootstrapServers, "outbox-test-" + UUID.randomUUID(), "false");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of(TOPIC));
+            ConsumerRecord<String, String> record = KafkaTestUtils.getSingleRecord(consumer, TOPIC, Duration.ofSeconds(15));
+
+            JsonNode payload = objectMapper.readTree(record.value());
+            assertThat(payload.get("userId").asText()).isEqualTo(committedId.toString());
+            assertThat(KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(2)).count()).isZero();
+        }
+
+        // The published marker commits right after the broker acknowledges the send
+        Thread.sleep(Duration.ofSeconds(1).toMillis());
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(e -> TOPIC.equals(e.getTopic()))
+                .hasSize(1)
+                .allSatisfy(e -> assertThat(e.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("no instance should relay while another holds the relay lock")
+    void relayWaitsForTheLeader() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        try (Connection leader = dataSource.getConnection()) {
+            try (PreparedStatement lock = leader.prepareStatement("SELECT pg_advisory_lock(?)")) {
+                lock.setLong(1, OutboxRelay.LOCK_KEY);
+                lock.execute();
+            }
+            transactionTemplate.executeWithoutResult(status -> eventProducer.publish(LEADER_TOPIC, event(userId)));
+
+            assertThat(outboxRelay.relayBatch()).isZero();
+            assertThat(outboxEventRepository.findAll())
+                    .filteredOn(e -> LEADER_TOPIC.equals(e.getTopic()))
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.getPublishedAt()).isNull());
+
+            try (PreparedStatement unlock = leader.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                unlock.setLong(1, OutboxRelay.LOCK_KEY);
+                unlock.execute();
+            }
+        }
+
+        // Whichever instance takes the lock next publishes it, this call or the scheduled relay
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!isPublished(LEADER_TOPIC) && System.currentTimeMillis() < deadline) {
+            outboxRelay.relayBatch();
+            Thread.sleep(100);
+        }
+        assertThat(isPublished(LEADER_TOPIC)).isTrue();
+    }
+
+    private boolean isPublished(String topic) {
+        return outboxEventRepository.findAll().stream()
+                .filter(e -> topic.equals(e.getTopic()))
+                .allMatch(e -> e.getPublishedAt() != null);
+    }
+
+    @Test
+    @DisplayName("published rows past their retention should be purged and newer ones kept")
+    void purgesPublishedRowsPastRetention() {
+        UUID expired = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        insert(expired, "now() - interval '100 hours'");
+        insert(recent, "now() - interval '1 hour'");
+        insert(pending, "NULL");
+
+        outboxPurger.purgePublished();
+
+        assertThat(outboxEventRepository.existsById(expired)).isFalse();
+        assertThat(outboxEventRepository.existsById(recent)).isTrue();
+        assertThat(outboxEventRepository.existsById(pending)).isTrue();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN (?, ?)", recent, pending);
+    }
+
+    private void insert(UUID id, String publishedAt) {
+        // The relay may publish the pending row meanwhile; it is still far too recent to be purged
+        jdbcTemplate.update("INSERT INTO outbox_events (id, topic, payload, payload_type, created_at, published_at) " +
+                "VALUES (?, 'outbox.purge.test', '{}', 'java.lang.Object', now(), " + publishedAt + ")", id);
+    }
+
+    private UserRegisteredEvent event(UUID userId) {
+        return UserRegisteredEvent.builder()
+                .userId(userId)
+                .email(userId + "@example.com")
+                .tenantId("outbox-tenant")
+                .name("Outbox User")
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package code.with.vanilson.market.events.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventProducerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ===== Publish Tests =====
+
+    @Test
+    @DisplayName("should store the event in the outbox instead of sending it")
+    void testPublish_WritesOutboxRow() {
+        // Arrange
+        EventProducer producer = producer(EventProducer.BackpressurePolicy.FAIL_FAST);
+
+        // Act
+        producer.publish("orders.cancelled", "Order cancelled");
+
+        // Assert
+        verify(outboxEventRepository, times(1)).save(any(OutboxEvent.class));
+    }
+
+    // ===== Publish Async Tests =====
+
+    @Test
+    @DisplayName("should complete the future when the broker acknowledges the send")
+    void testPublishAsync_CompletesOnAck() {
+        // Arrange
+        CompletableFuture<SendResult<Object, Object>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(ack);
+        EventProducer producer = producer(EventProducer.BackpressurePolicy.FAIL_FAST);
+
+        // Act
+        CompletableFuture<SendResult<Object, Object>> result = producer.publishAsync("orders.cancelled", "1");
+        ack.complete(null);
+
+        // Assert
+        assertThat(result).isCompleted();
+        assertThat(meterRegistry.get("events.publish.async.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should reject sends beyond the in-flight limit with FAIL_FAST")
+    void testPublishAsync_FailFastRejects() {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(new CompletableFuture<>());
+        EventProducer producer = producer(EventProducer.BackpressurePolicy.FAIL_FAST);
+        producer.publishAsync("orders.cancelled", "1");
+
+        // Act
+        CompletableFuture<SendResult<Object, Object>> result = producer.publishAsync("orders.cancelled", "2");
+
+        // Assert
+        assertThat(result).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("events.publish.async.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should fail the oldest send to make room with DROP_OLDEST")
+    void testPublishAsync_DropOldest() {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(new CompletableFuture<>());
+        EventProducer producer = producer(EventProducer.BackpressurePolicy.DROP_OLDEST);
+        CompletableFuture<SendResult<Object, Object>> oldest = producer.publishAsync("orders.cancelled", "1");
+
+        // Act
+        CompletableFuture<SendResult<Object, Object>> newest = producer.publishAsync("orders.cancelled", "2");
+
+        // Assert
+        assertThat(oldest).isCancelled();
+        assertThat(newest).isNotDone();
+        assertThat(meterRegistry.get("events.publish.async.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should count failed sends per topic")
+    void testPublishAsync_CountsFailures() {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        EventProducer producer = producer(EventProducer.BackpressurePolicy.BLOCK);
+
+        // Act
+        CompletableFuture<SendResult<Object, Object>> result = producer.publishAsync("orders.cancelled", "1");
+
+        // Assert
+        assertThat(result).isCompletedExceptionally();
+        assertThat(meterRegistry.get("events.publish.async.failures").tag("topic", "orders.cancelled")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private EventProducer producer(EventProducer.BackpressurePolicy policy) {
+        return new EventProducer(outboxEventRepository, new ObjectMapper(), kafkaTemplate, meterRegistry,
+                1, policy, 10);
+    }
+}
@@ -0,0 +1,124 @@
+package code.with.vanilson.market.events.infrastructure;
+
+import code.with.vanilson.market.events.domain.OutboxEvent;
+import code.with.vanilson.market.events.domain.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static final String TOPIC = "orders.placed";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 100, 1000);
+    }
+
+    // ===== Leader Tests =====
+
+    @Test
+    @DisplayName("Should skip the pass while another instance holds the relay lock")
+    void testRelayBatch_LockHeldElsewhere() {
+        // Arrange
+        when(outboxEventRepository.tryLockRelay(OutboxRelay.LOCK_KEY)).thenReturn(false);
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertThat(relayed).isZero();
+        verify(outboxEventRepository, never()).lockNextBatch(anyInt());
+    }
+
+    // ===== Ordering Tests =====
+
+    @Test
+    @DisplayName("Should keep later events of a key unpublished once an earlier one fails")
+    void testRelayBatch_FailureHoldsBackKey() {
+        // Arrange
+        OutboxEvent failed = event("order-a", "\"first\"");
+        OutboxEvent sameKey = event("order-a", "\"second\"");
+        OutboxEvent otherKey = event("order-b", "\"third\"");
+        when(outboxEventRepository.tryLockRelay(OutboxRelay.LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of(failed, sameKey, otherKey));
+        when(kafkaTemplate.send(TOPIC, "order-a", "first")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(TOPIC, "order-a", "second")).thenReturn(acknowledged());
+        when(kafkaTemplate.send(TOPIC, "order-b", "third")).thenReturn(acknowledged());
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxEventRepository).markPublished(eq(List.of(otherKey.getId())), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should not send later events of a key whose earlier event cannot be read")
+    void testRelayBatch_UnreadablePayloadHoldsBackKey() {
+        // Arrange
+        OutboxEvent unreadable = event("order-a", "not json");
+        OutboxEvent sameKey = event("order-a", "\"second\"");
+        when(outboxEventRepository.tryLockRelay(OutboxRelay.LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of(unreadable, sameKey));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertThat(relayed).isZero();
+        verify(kafkaTemplate, never()).send(any(String.class), any(), any());
+        verify(outboxEventRepository, never()).markPublished(any(), any());
+    }
+
+    private static CompletableFuture<SendResult<Object, Object>> acknowledged() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static OutboxEvent event(String key, String payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .topic(TOPIC)
+                .eventKey(key)
+                .payload(payload)
+                .payloadType(String.class.getName())
+                .createdAt(Instant.now())
+                .build();
+        ReflectionTestUtils.setField(event, "id", UUID.randomUUID());
+        return event;
+    }
+}
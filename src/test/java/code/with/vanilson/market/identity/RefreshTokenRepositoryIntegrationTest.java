@@ -0,0 +1,126 @@
+package code.with.vanilson.market.identity;
+
+import code.with.vanilson.market.identity.domain.RefreshToken;
+import code.with.vanilson.market.identity.domain.RefreshTokenRepository;
+import code.with.vanilson.market.identity.domain.User;
+import code.with.vanilson.market.identity.domain.UserRepository;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native upsert and rotate statements against Postgres: one token per user, live tokens
+ * rotate once, expired ones never do, and two refreshes racing with the same token get one new token.
+ */
+class RefreshTokenRepositoryIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("upsert should replace the user's previous token")
+    void upsertReplacesPreviousToken() {
+        User user = seedUser();
+        String first = "upsert-" + UUID.randomUUID();
+        String second = "upsert-" + UUID.randomUUID();
+
+        upsert(user, first, Instant.now().plusSeconds(3600));
+        upsert(user, second, Instant.now().plusSeconds(3600));
+
+        assertThat(refreshTokenRepository.findByToken(first)).isEmpty();
+        assertThat(refreshTokenRepository.findByToken(second)).isPresent();
+    }
+
+    @Test
+    @DisplayName("rotate should swap a live token and return its owner")
+    void rotateSwapsLiveToken() {
+        User user = seedUser();
+        String token = "rotate-" + UUID.randomUUID();
+        String rotated = "rotate-" + UUID.randomUUID();
+        upsert(user, token, Instant.now().plusSeconds(3600));
+
+        Optional<UUID> owner = refreshTokenRepository.rotate(token, Instant.now(), rotated,
+                Instant.now().plusSeconds(7200));
+
+        assertThat(owner).contains(user.getId());
+        assertThat(refreshTokenRepository.findByToken(token)).isEmpty();
+        assertThat(refreshTokenRepository.findByToken(rotated)).isPresent();
+    }
+
+    @Test
+    @DisplayName("rotate should leave an expired token alone")
+    void rotateRejectsExpiredToken() {
+        User user = seedUser();
+        String token = "expired-" + UUID.randomUUID();
+        upsert(user, token, Instant.now().minusSeconds(60));
+
+        Optional<UUID> owner = refreshTokenRepository.rotate(token, Instant.now(), "expired-" + UUID.randomUUID(),
+                Instant.now().plusSeconds(7200));
+
+        assertThat(owner).isEmpty();
+        assertThat(refreshTokenRepository.findByToken(token)).map(RefreshToken::isExpired).contains(true);
+    }
+
+    @Test
+    @DisplayName("two refreshes racing with the same token should mint exactly one new token")
+    void concurrentRotateSucceedsOnce() throws Exception {
+        User user = seedUser();
+        String token = "race-" + UUID.randomUUID();
+        upsert(user, token, Instant.now().plusSeconds(3600));
+        List<String> candidates = List.of("race-" + UUID.randomUUID(), "race-" + UUID.randomUUID());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Optional<UUID>>> results = candidates.stream()
+                .map(candidate -> executor.submit(() -> {
+                    start.await();
+                    return refreshTokenRepository.rotate(token, Instant.now(), candidate,
+                            Instant.now().plusSeconds(7200));
+                }))
+                .toList();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long winners = 0;
+        for (Future<Optional<UUID>> result : results) {
+            winners += result.get().isPresent() ? 1 : 0;
+        }
+        assertThat(winners).isEqualTo(1);
+        assertThat(candidates.stream().filter(candidate -> refreshTokenRepository.findByToken(candidate).isPresent()))
+                .hasSize(1);
+    }
+
+    private User seedUser() {
+        return userRepository.save(User.builder()
+                .email("refresh+" + UUID.randomUUID() + "@example.com")
+                .passwordHash("hash")
+                .tenantId("refresh-tenant")
+                .build());
+    }
+
+    private void upsert(User user, String token, Instant expiry) {
+        transactionTemplate.executeWithoutResult(status ->
+                refreshTokenRepository.upsert(UUID.randomUUID(), user.getId(), token, expiry));
+    }
+}
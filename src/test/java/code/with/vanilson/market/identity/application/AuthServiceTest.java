@@ -2,11 +2,15 @@ package code.with.vanilson.market.identity.application;
 
 import code.with.vanilson.market.events.domain.EventProducer;
 import code.with.vanilson.market.identity.api.dto.AuthDto;
+import code.with.vanilson.market.identity.domain.RecoveryCode;
+import code.with.vanilson.market.identity.domain.RecoveryCodeRepository;
 import code.with.vanilson.market.identity.domain.RefreshToken;
 import code.with.vanilson.market.identity.domain.RefreshTokenRepository;
 import code.with.vanilson.market.identity.domain.User;
 import code.with.vanilson.market.identity.domain.UserRepository;
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
+import code.with.vanilson.market.identity.infrastructure.RecoveryCodeHasher;
+import code.with.vanilson.market.identity.infrastructure.TokenDenyList;
 import code.with.vanilson.market.identity.infrastructure.TotpUtils;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerAlreadyExistsException;
 import code.with.vanilson.market.shared.infrastructure.exception.CustomerNotFoundException;
@@ -26,9 +30,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,8 +39,8 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -53,12 +56,21 @@ class AuthServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private RecoveryCodeRepository recoveryCodeRepository;
+
+    @Mock
+    private RecoveryCodeHasher recoveryCodeHasher;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
     private JwtProvider jwtProvider;
 
+    @Mock
+    private TokenDenyList tokenDenyList;
+
     @Mock
     private TotpUtils totpUtils;
 
@@ -98,7 +110,6 @@ class AuthServiceTest {
                 .tenantId(TENANT_ID)
                 .totpSecret(TOTP_SECRET)
                 .totpEnabled(true)
-                .recoveryCodes(new HashSet<>())
                 .build();
         ReflectionTestUtils.setField(savedUser, "id", USER_ID);
 
@@ -183,6 +194,36 @@ class AuthServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("should store only the hashes of the recovery codes")
+    @SuppressWarnings("unchecked")
+    void testRegister_StoresHashedRecoveryCodes() {
+        // Arrange
+        AuthDto.RegisterRequest request = new AuthDto.RegisterRequest();
+        request.setEmail(EMAIL);
+        request.setPassword(PASSWORD);
+        request.setTenantId(TENANT_ID);
+
+        ArgumentCaptor<List<RecoveryCode>> codesCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(totpUtils.generateSecretKey()).thenReturn(TOTP_SECRET);
+        when(recoveryCodeHasher.hash(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+
+        // Act
+        AuthDto.RegisterResponse response = authService.register(request);
+
+        // Assert
+        verify(recoveryCodeRepository).saveAll(codesCaptor.capture());
+        assertThat(codesCaptor.getValue())
+                .extracting(RecoveryCode::getCodeHash)
+                .containsExactlyInAnyOrderElementsOf(response.getRecoveryCodes().stream()
+                        .map(code -> "hashed-" + code)
+                        .toList())
+                .doesNotContainAnyElementsOf(response.getRecoveryCodes());
+    }
+
     @Test
     @DisplayName("should set TOTP as enabled by default during registration")
     void testRegister_TotpEnabledByDefault() {
@@ -263,23 +304,13 @@ class AuthServiceTest {
                 .tenantId(TENANT_ID)
                 .totpSecret(TOTP_SECRET)
                 .totpEnabled(true)
-                .recoveryCodes(new HashSet<>())
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(REFRESH_TOKEN)
-                .expiryDate(Instant.now().plusSeconds(604800))
-                .build();
-        ReflectionTestUtils.setField(refreshToken, "id", UUID.randomUUID());
-
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
         when(totpUtils.verifyCode(TOTP_SECRET, TOTP_CODE)).thenReturn(true);
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(refreshToken);
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
@@ -311,7 +342,6 @@ class AuthServiceTest {
                 .passwordHash(ENCODED_PASSWORD)
                 .totpSecret(TOTP_SECRET)
                 .totpEnabled(true)
-                .recoveryCodes(new HashSet<>())
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
@@ -325,7 +355,7 @@ class AuthServiceTest {
                 .isInstanceOf(InvalidTwoFactorCodeException.class)
                 .hasMessage("Invalid 2FA Code or Recovery Code");
 
-        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).upsert(any(), any(), any(), any());
     }
 
     @Test
@@ -333,8 +363,6 @@ class AuthServiceTest {
     void testLogin_WithValidRecoveryCode_Success() {
         // Arrange
         String recoveryCode = "REC12345";
-        Set<String> recoveryCodes = new HashSet<>();
-        recoveryCodes.add(recoveryCode);
 
         AuthDto.LoginRequest request = new AuthDto.LoginRequest();
         request.setEmail(EMAIL);
@@ -348,22 +376,14 @@ class AuthServiceTest {
                 .tenantId(TENANT_ID)
                 .totpSecret(TOTP_SECRET)
                 .totpEnabled(true)
-                .recoveryCodes(recoveryCodes)
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(REFRESH_TOKEN)
-                .expiryDate(Instant.now().plusSeconds(604800))
-                .build();
-        ReflectionTestUtils.setField(refreshToken, "id", UUID.randomUUID());
-
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(refreshToken);
+        when(recoveryCodeHasher.hash(recoveryCode)).thenReturn("hashed-" + recoveryCode);
+        when(recoveryCodeRepository.deleteByUserIdAndCodeHash(USER_ID, "hashed-" + recoveryCode)).thenReturn(1);
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
@@ -374,7 +394,7 @@ class AuthServiceTest {
         assertThat(response.getAccessToken()).isEqualTo(JWT_TOKEN);
 
         verify(userRepository, atLeastOnce()).findByEmail(EMAIL);
-        verify(userRepository, times(1)).save(user); // Recovery code burned
+        verify(userRepository, never()).save(any(User.class)); // The user aggregate is not rewritten
     }
 
     @Test
@@ -382,8 +402,6 @@ class AuthServiceTest {
     void testLogin_BurnsRecoveryCode() {
         // Arrange
         String recoveryCode = "REC12345";
-        Set<String> recoveryCodes = new HashSet<>();
-        recoveryCodes.add(recoveryCode);
 
         AuthDto.LoginRequest request = new AuthDto.LoginRequest();
         request.setEmail(EMAIL);
@@ -391,28 +409,51 @@ class AuthServiceTest {
         request.setRecoveryCode(recoveryCode);
 
         User user = User.builder()
-                
                 .email(EMAIL)
                 .totpEnabled(true)
-                .recoveryCodes(recoveryCodes)
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class)))
-                .thenReturn(RefreshToken.builder().build());
+        when(recoveryCodeHasher.hash(recoveryCode)).thenReturn("hashed-" + recoveryCode);
+        when(recoveryCodeRepository.deleteByUserIdAndCodeHash(USER_ID, "hashed-" + recoveryCode)).thenReturn(1);
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
         authService.login(request);
 
         // Assert
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-        assertThat(userCaptor.getValue().getRecoveryCodes()).doesNotContain(recoveryCode);
+        verify(recoveryCodeRepository, times(1)).deleteByUserIdAndCodeHash(USER_ID, "hashed-" + recoveryCode);
+    }
+
+    @Test
+    @DisplayName("should reject a recovery code that is unknown or already burned")
+    void testLogin_UnknownRecoveryCode() {
+        // Arrange
+        AuthDto.LoginRequest request = new AuthDto.LoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword(PASSWORD);
+        request.setRecoveryCode("USED1234");
+
+        User user = User.builder()
+                .email(EMAIL)
+                .totpEnabled(true)
+                .build();
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(recoveryCodeHasher.hash("USED1234")).thenReturn("hashed-USED1234");
+        when(recoveryCodeRepository.deleteByUserIdAndCodeHash(USER_ID, "hashed-USED1234")).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.login(request))
+                .isInstanceOf(InvalidTwoFactorCodeException.class);
+
+        verify(refreshTokenRepository, never()).upsert(any(), any(), any(), any());
     }
 
     @Test
@@ -433,12 +474,12 @@ class AuthServiceTest {
                 .isInstanceOf(CustomerNotFoundException.class)
                 .hasMessage("User not found");
 
-        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).upsert(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("should delete old refresh tokens before creating new one")
-    void testLogin_DeletesOldRefreshTokens() {
+    @DisplayName("should replace the user's refresh token with a single upsert")
+    void testLogin_UpsertsRefreshToken() {
         // Arrange
         AuthDto.LoginRequest request = new AuthDto.LoginRequest();
         request.setEmail(EMAIL);
@@ -450,7 +491,6 @@ class AuthServiceTest {
                 .email(EMAIL)
                 .totpSecret(TOTP_SECRET)
                 .totpEnabled(true)
-                .recoveryCodes(new HashSet<>())
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
@@ -458,16 +498,14 @@ class AuthServiceTest {
                 .thenReturn(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
         when(totpUtils.verifyCode(TOTP_SECRET, TOTP_CODE)).thenReturn(true);
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class)))
-                .thenReturn(RefreshToken.builder().build());
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
         authService.login(request);
 
         // Assert
-        verify(refreshTokenRepository, times(1)).deleteTokensByUser(user);
+        verify(refreshTokenRepository, times(1)).upsert(any(UUID.class), eq(USER_ID), anyString(), any(Instant.class));
+        verify(refreshTokenRepository, never()).deleteTokensByUser(any());
     }
 
     // ========================= Refresh Token Tests =========================
@@ -480,28 +518,13 @@ class AuthServiceTest {
         request.setRefreshToken(REFRESH_TOKEN);
 
         User user = User.builder()
-                
                 .email(EMAIL)
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
-        RefreshToken existingToken = RefreshToken.builder()
-                .user(user)
-                .token(REFRESH_TOKEN)
-                .expiryDate(Instant.now().plusSeconds(604800))
-                .build();
-        ReflectionTestUtils.setField(existingToken, "id", UUID.randomUUID());
-
-        RefreshToken newToken = RefreshToken.builder()
-                .user(user)
-                .token("new-refresh-token")
-                .expiryDate(Instant.now().plusSeconds(604800))
-                .build();
-        ReflectionTestUtils.setField(newToken, "id", UUID.randomUUID());
-
-        when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.of(existingToken));
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(newToken);
+        when(refreshTokenRepository.rotate(eq(REFRESH_TOKEN), any(Instant.class), anyString(), any(Instant.class)))
+                .thenReturn(Optional.of(USER_ID));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
@@ -512,9 +535,8 @@ class AuthServiceTest {
         assertThat(response.getAccessToken()).isEqualTo(JWT_TOKEN);
         assertThat(response.getRefreshToken()).isNotNull();
 
-        verify(refreshTokenRepository, times(1)).findByToken(REFRESH_TOKEN);
-        verify(refreshTokenRepository, times(1)).deleteTokensByUser(user);
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).findByToken(anyString());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
     @Test
@@ -524,6 +546,8 @@ class AuthServiceTest {
         AuthDto.RefreshTokenRequest request = new AuthDto.RefreshTokenRequest();
         request.setRefreshToken(REFRESH_TOKEN);
 
+        when(refreshTokenRepository.rotate(eq(REFRESH_TOKEN), any(Instant.class), anyString(), any(Instant.class)))
+                .thenReturn(Optional.empty());
         when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -531,7 +555,7 @@ class AuthServiceTest {
                 .isInstanceOf(RefreshTokenNotFoundException.class)
                 .hasMessage("Refresh Token not found");
 
-        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(jwtProvider, never()).generateToken(any());
     }
 
     @Test
@@ -542,7 +566,6 @@ class AuthServiceTest {
         request.setRefreshToken(REFRESH_TOKEN);
 
         User user = User.builder()
-                
                 .email(EMAIL)
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
@@ -554,6 +577,8 @@ class AuthServiceTest {
                 .build();
         ReflectionTestUtils.setField(expiredToken, "id", UUID.randomUUID());
 
+        when(refreshTokenRepository.rotate(eq(REFRESH_TOKEN), any(Instant.class), anyString(), any(Instant.class)))
+                .thenReturn(Optional.empty());
         when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.of(expiredToken));
 
         // Act & Assert
@@ -562,7 +587,7 @@ class AuthServiceTest {
                 .hasMessage("Refresh token was expired. Please make a new signin request");
 
         verify(refreshTokenRepository, times(1)).delete(expiredToken);
-        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(jwtProvider, never()).generateToken(any());
     }
 
     @Test
@@ -573,37 +598,29 @@ class AuthServiceTest {
         request.setRefreshToken(REFRESH_TOKEN);
 
         User user = User.builder()
-                
                 .email(EMAIL)
                 .build();
         ReflectionTestUtils.setField(user, "id", USER_ID);
 
-        RefreshToken oldToken = RefreshToken.builder()
-                .user(user)
-                .token(REFRESH_TOKEN)
-                .expiryDate(Instant.now().plusSeconds(604800))
-                .build();
-        ReflectionTestUtils.setField(oldToken, "id", UUID.randomUUID());
-
-        when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.of(oldToken));
-        doNothing().when(refreshTokenRepository).deleteTokensByUser(user);
-        when(refreshTokenRepository.save(any(RefreshToken.class)))
-                .thenReturn(RefreshToken.builder().token("new-token").build());
+        ArgumentCaptor<String> newTokenCaptor = ArgumentCaptor.forClass(String.class);
+        when(refreshTokenRepository.rotate(eq(REFRESH_TOKEN), any(Instant.class), newTokenCaptor.capture(),
+                any(Instant.class))).thenReturn(Optional.of(USER_ID));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
         when(jwtProvider.generateToken(user)).thenReturn(JWT_TOKEN);
 
         // Act
         AuthDto.AuthResponse response = authService.refreshToken(request);
 
         // Assert
-        verify(refreshTokenRepository, times(1)).deleteTokensByUser(user);
-        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
-        assertThat(response.getRefreshToken()).isNotNull();
+        assertThat(response.getRefreshToken())
+                .isEqualTo(newTokenCaptor.getValue())
+                .isNotEqualTo(REFRESH_TOKEN);
     }
 
     // ========================= Logout Tests =========================
 
     @Test
-    @DisplayName("should successfully logout user by deleting refresh token")
+    @DisplayName("should logout user by deleting refresh token and revoking issued access tokens")
     void testLogout_Success() {
         // Arrange
         AuthDto.RefreshTokenRequest request = new AuthDto.RefreshTokenRequest();
@@ -630,6 +647,7 @@ class AuthServiceTest {
         // Assert
         verify(refreshTokenRepository, times(1)).findByToken(REFRESH_TOKEN);
         verify(refreshTokenRepository, times(1)).delete(token);
+        verify(tokenDenyList, times(1)).revokeAllFor(EMAIL);
     }
 
     @Test
@@ -647,6 +665,7 @@ class AuthServiceTest {
         // Assert
         verify(refreshTokenRepository, times(1)).findByToken(REFRESH_TOKEN);
         verify(refreshTokenRepository, never()).delete(any(RefreshToken.class));
+        verify(tokenDenyList, never()).revokeAllFor(anyString());
     }
 
     @Test
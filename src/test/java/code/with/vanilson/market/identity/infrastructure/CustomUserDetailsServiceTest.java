@@ -0,0 +1,154 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.events.domain.UserPasswordRehashedEvent;
+import code.with.vanilson.market.identity.domain.Role;
+import code.with.vanilson.market.identity.domain.User;
+import code.with.vanilson.market.identity.domain.UserRepository;
+import code.with.vanilson.market.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService Unit Tests")
+class CustomUserDetailsServiceTest {
+
+    private static final String EMAIL = "cached@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CustomUserDetailsService(userRepository, meterRegistry, 100, 300);
+    }
+
+    // ===== Cache Tests =====
+
+    @Test
+    @DisplayName("should hit the database once for repeated logins")
+    void testLoadUserByUsername_CachesUser() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user()));
+
+        // Act
+        UserDetails first = service.loadUserByUsername(EMAIL);
+        UserDetails second = service.loadUserByUsername(EMAIL);
+
+        // Assert
+        assertThat(second.getUsername()).isEqualTo(first.getUsername());
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.details").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reload the user after eviction")
+    void testEvict_ForcesReload() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user()));
+        service.loadUserByUsername(EMAIL);
+
+        // Act
+        service.evict(EMAIL);
+        service.loadUserByUsername(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("should keep the cached password after credentials are erased on a returned instance")
+    void testLoadUserByUsername_ErasedCredentialsDoNotLeakIntoCache() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user()));
+        UserDetails first = service.loadUserByUsername(EMAIL);
+
+        // Act
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = service.loadUserByUsername(EMAIL);
+
+        // Assert
+        assertThat(first.getPassword()).isNull();
+        assertThat(second.getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("should throw when the user does not exist")
+    void testLoadUserByUsername_NotFound() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.loadUserByUsername(EMAIL))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    // ===== Password Upgrade Tests =====
+
+    @Test
+    @DisplayName("should store the re-hashed password and return it in the new details")
+    void testUpdatePassword_StoresNewHash() {
+        // Arrange
+        User user = user();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        UserDetails current = service.loadUserByUsername(EMAIL);
+
+        // Act
+        UserDetails updated = service.updatePassword(current, "rehashed");
+
+        // Assert
+        assertThat(user.getPasswordHash()).isEqualTo("rehashed");
+        assertThat(updated.getPassword()).isEqualTo("rehashed");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    @DisplayName("should refresh cached details without revoking the user's tokens")
+    void testUpdatePassword_DoesNotRevokeTokens() {
+        // Arrange
+        User user = user();
+        ReflectionTestUtils.invokeMethod(user, "clearDomainEvents");
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        UserDetails current = service.loadUserByUsername(EMAIL);
+
+        // Act
+        service.updatePassword(current, "rehashed");
+
+        // Assert
+        Collection<DomainEvent> events = ReflectionTestUtils.invokeMethod(user, "domainEvents");
+        assertThat(events).hasSize(1).allMatch(UserPasswordRehashedEvent.class::isInstance);
+    }
+
+    private User user() {
+        User user = User.builder()
+                .email(EMAIL)
+                .passwordHash("hash")
+                .tenantId("t1")
+                .build();
+        user.addRole(Role.ADMIN);
+        return user;
+    }
+}
@@ -0,0 +1,66 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.identity.domain.Role;
+import code.with.vanilson.market.identity.domain.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtProvider Unit Tests")
+class JwtProviderTest {
+
+    private static final String SECRET = "9a4f4e35455a5b5c5d5e5f606162636465666768696a6b6c6d6e6f7071727374";
+
+    private final JwtProvider jwtProvider = new JwtProvider(SECRET, 3_600_000);
+
+    // ===== Parse Claims Tests =====
+
+    @Test
+    @DisplayName("should return subject and tenant from a token it issued")
+    void testParseClaims_RoundTrip() {
+        // Arrange
+        User user = User.builder()
+                .email("jwt@example.com")
+                .passwordHash("hash")
+                .tenantId("tenant-1")
+                .build();
+        user.addRole(Role.CUSTOMER);
+        String token = jwtProvider.generateToken(user);
+
+        // Act
+        Optional<Claims> claims = jwtProvider.parseClaims(token);
+
+        // Assert
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("jwt@example.com");
+        assertThat(claims.get().get(JwtProvider.TENANT_ID_CLAIM, String.class)).isEqualTo("tenant-1");
+    }
+
+    @Test
+    @DisplayName("should reject a token whose signature does not match")
+    void testParseClaims_TamperedToken() {
+        // Arrange
+        User user = User.builder().email("jwt@example.com").passwordHash("hash").tenantId("tenant-1").build();
+        String token = jwtProvider.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThat(jwtProvider.parseClaims(tampered)).isEmpty();
+        assertThat(jwtProvider.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject an expired token")
+    void testParseClaims_ExpiredToken() {
+        // Arrange
+        JwtProvider expiring = new JwtProvider(SECRET, -1_000);
+        User user = User.builder().email("jwt@example.com").passwordHash("hash").tenantId("tenant-1").build();
+
+        // Act & Assert
+        assertThat(expiring.parseClaims(expiring.generateToken(user))).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.identity.domain.Role;
+import code.with.vanilson.market.identity.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of validating one bearer token the way {@link JwtAuthenticationFilter} does.
+ * {@code perRequestParsers} reproduces the previous flow: decode the secret, build a parser and
+ * parse the token once to validate and again to read the subject. {@code sharedParser} is the
+ * current single {@link JwtProvider#parseClaims} call.
+ *
+ * <p>Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=code.with.vanilson.market.identity.infrastructure.JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "9a4f4e35455a5b5c5d5e5f606162636465666768696a6b6c6d6e6f7071727374";
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(SECRET, 3_600_000);
+        User user = User.builder()
+                .email("bench@example.com")
+                .passwordHash("hash")
+                .tenantId("bench-tenant")
+                .build();
+        user.addRole(Role.CUSTOMER);
+        token = jwtProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String perRequestParsers() {
+        try {
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .build().parseClaimsJws(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return jwtProvider.parseClaims(token).map(Claims::getSubject).orElse(null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
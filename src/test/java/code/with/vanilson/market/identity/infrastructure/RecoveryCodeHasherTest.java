@@ -0,0 +1,31 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecoveryCodeHasher Unit Tests")
+class RecoveryCodeHasherTest {
+
+    @Test
+    @DisplayName("should hash the same code to the same value so it can be looked up")
+    void testHash_Deterministic() {
+        // Arrange
+        RecoveryCodeHasher hasher = new RecoveryCodeHasher("server-secret");
+
+        // Act & Assert
+        assertThat(hasher.hash("REC12345"))
+                .isEqualTo(hasher.hash("REC12345"))
+                .isNotEqualTo(hasher.hash("REC12346"))
+                .hasSize(64);
+    }
+
+    @Test
+    @DisplayName("should depend on the server secret")
+    void testHash_Keyed() {
+        // Act & Assert
+        assertThat(new RecoveryCodeHasher("server-secret").hash("REC12345"))
+                .isNotEqualTo(new RecoveryCodeHasher("other-secret").hash("REC12345"));
+    }
+}
@@ -0,0 +1,104 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.identity.domain.RefreshTokenRepository;
+import code.with.vanilson.market.identity.domain.User;
+import code.with.vanilson.market.identity.domain.UserRepository;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds expired and live refresh tokens and checks that a purge run removes exactly the expired ones,
+ * and that it stands down while another session holds the reaper lock.
+ */
+@TestPropertySource(properties = {
+        "app.security.token-reaper.chunk-size=500",
+        "app.security.token-reaper.pause-ms=0"
+})
+class RefreshTokenReaperIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int EXPIRED = 1_200;
+    private static final int LIVE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenReaper reaper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE token LIKE 'reaper-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'reaper+%'");
+        // Written through the repository so expiry_date is stored exactly as the application stores it
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < EXPIRED + LIVE; i++) {
+                User user = userRepository.saveAndFlush(User.builder()
+                        .email("reaper+" + i + "@example.com")
+                        .passwordHash("hash")
+                        .tenantId("reaper-tenant")
+                        .build());
+                Instant expiry = Instant.now().plus(i < EXPIRED ? -1 : 1, ChronoUnit.DAYS);
+                refreshTokenRepository.upsert(UUID.randomUUID(), user.getId(), "reaper-" + user.getEmail(), expiry);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("purge should delete every expired token across several chunks and keep live ones")
+    void purgeDeletesOnlyExpiredTokens() {
+        // Act
+        reaper.purgeExpired();
+
+        // Assert
+        assertThat(countReaperTokens()).isEqualTo(LIVE);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE token LIKE 'reaper-%' " +
+                        "AND expiry_date < now()", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("purge should do nothing while another instance holds the lock")
+    void purgeSkipsWhenLockIsHeld() {
+        // Act & Assert
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + "refresh-token-reaper".hashCode() + ")");
+                try {
+                    reaper.purgeExpired();
+                    assertThat(countReaperTokens()).isEqualTo(EXPIRED + LIVE);
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + "refresh-token-reaper".hashCode() + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private long countReaperTokens() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE token LIKE 'reaper-%'", Long.class);
+    }
+}
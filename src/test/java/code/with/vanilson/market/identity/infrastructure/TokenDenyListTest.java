@@ -0,0 +1,150 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import code.with.vanilson.market.events.domain.UserCredentialsChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenDenyList Unit Tests")
+class TokenDenyListTest {
+
+    private static final long LIFETIME_MS = 60_000;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TokenDenyList denyList;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        denyList = new TokenDenyList(redisTemplate, LIFETIME_MS);
+    }
+
+    // ===== Revocation Tests =====
+
+    @Test
+    @DisplayName("should reject a single revoked token and keep others valid")
+    void testRevoke_SingleToken() {
+        // Arrange
+        Claims revoked = claims("jti-1", "user@example.com", Instant.now());
+        Claims other = claims("jti-2", "user@example.com", Instant.now());
+
+        // Act
+        denyList.revoke(revoked);
+
+        // Assert
+        assertThat(denyList.isRevoked(revoked)).isTrue();
+        assertThat(denyList.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject every token issued to a user before the user epoch")
+    void testRevokeAllFor_UserEpoch() {
+        // Arrange
+        Claims before = claims("jti-1", "user@example.com", Instant.now().minusSeconds(10));
+        Claims otherUser = claims("jti-2", "other@example.com", Instant.now().minusSeconds(10));
+
+        // Act
+        denyList.revokeAllFor("user@example.com");
+
+        // Assert
+        assertThat(denyList.isRevoked(before)).isTrue();
+        assertThat(denyList.isRevoked(otherUser)).isFalse();
+        assertThat(denyList.isRevoked(claims("jti-3", "user@example.com", Instant.now().plusSeconds(1)))).isFalse();
+    }
+
+    // ===== Sharing Tests =====
+
+    @Test
+    @DisplayName("should store a user epoch in Redis and broadcast it to the other nodes")
+    void testRevokeAllFor_SharesEpoch() {
+        // Act
+        denyList.revokeAllFor("user@example.com");
+
+        // Assert
+        verify(valueOperations).set(eq("identity:deny:user:user@example.com"), anyString(),
+                eq(Duration.ofMillis(LIFETIME_MS)));
+        verify(redisTemplate).convertAndSend(eq(TokenDenyList.REVOKED_CHANNEL),
+                startsWith("identity:deny:user:user@example.com="));
+    }
+
+    @Test
+    @DisplayName("should apply a revocation broadcast by another node")
+    void testOnMessage_AppliesRemoteRevocation() {
+        // Arrange
+        Claims before = claims("jti-1", "user@example.com", Instant.now().minusSeconds(10));
+        String body = "identity:deny:user:user@example.com=" + Instant.now().getEpochSecond();
+
+        // Act
+        denyList.onMessage(new DefaultMessage(TokenDenyList.REVOKED_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertThat(denyList.isRevoked(before)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should revoke a user's tokens when their credentials change")
+    void testOnCredentialsChanged_RevokesUser() {
+        // Arrange
+        Claims before = claims("jti-1", "user@example.com", Instant.now().minusSeconds(10));
+
+        // Act
+        denyList.onCredentialsChanged(new UserCredentialsChangedEvent("user@example.com"));
+
+        // Assert
+        assertThat(denyList.isRevoked(before)).isTrue();
+    }
+
+    // ===== Purge Tests =====
+
+    @Test
+    @DisplayName("should drop entries once the tokens they cover have expired")
+    void testPurgeExpired_DropsExpiredEntries() {
+        // Arrange
+        Claims expired = claims("jti-1", "user@example.com", Instant.now().minusMillis(2 * LIFETIME_MS));
+        Claims live = claims("jti-2", "user@example.com", Instant.now());
+        denyList.revoke(expired);
+        denyList.revoke(live);
+
+        // Act
+        denyList.purgeExpired();
+
+        // Assert
+        assertThat(denyList.size()).isEqualTo(1);
+        assertThat(denyList.isRevoked(live)).isTrue();
+    }
+
+    private static Claims claims(String id, String subject, Instant issuedAt) {
+        return Jwts.claims()
+                .setId(id)
+                .setSubject(subject)
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusMillis(LIFETIME_MS)));
+    }
+}
@@ -0,0 +1,81 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import org.apache.commons.codec.binary.Base32;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TotpUtils Unit Tests")
+class TotpUtilsTest {
+
+    // RFC 6238 appendix B SHA1 seed
+    private static final String SECRET = new Base32().encodeToString(
+            "12345678901234567890".getBytes(StandardCharsets.US_ASCII));
+
+    private final TotpUtils totpUtils = new TotpUtils(1);
+
+    // ===== Verification Tests =====
+
+    @ParameterizedTest
+    @CsvSource({
+            "59, 287082",
+            "1111111109, 081804",
+            "1111111111, 050471",
+            "1234567890, 005924",
+            "2000000000, 279037",
+            "20000000000, 353130"
+    })
+    @DisplayName("should accept the RFC 6238 test vectors")
+    void testVerifyCode_RfcVectors(long epochSeconds, String code) {
+        assertThat(new TotpUtils(0).verifyCode(SECRET, code, epochSeconds)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should accept codes within the drift window and reject codes outside it")
+    void testVerifyCode_DriftWindow() {
+        // Arrange: 1111111109 and 1111111111 sit in adjacent 30s steps
+        long nextStep = 1111111111L + 30;
+        long twoStepsLater = 1111111111L + 60;
+
+        // Act & Assert
+        assertThat(totpUtils.verifyCode(SECRET, "050471", nextStep)).isTrue();
+        assertThat(totpUtils.verifyCode(SECRET, "050471", twoStepsLater)).isFalse();
+        assertThat(new TotpUtils(0).verifyCode(SECRET, "050471", nextStep)).isFalse();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"12345", "1234567", "05047a", " 50471"})
+    @DisplayName("should reject malformed codes")
+    void testVerifyCode_MalformedCode(String code) {
+        assertThat(totpUtils.verifyCode(SECRET, code, 1111111111L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should produce a code the verifier accepts for a generated secret")
+    void testGetTOTPCode_RoundTrip() {
+        // Arrange
+        String secret = totpUtils.generateSecretKey();
+
+        // Act
+        String code = totpUtils.getTOTPCode(secret);
+
+        // Assert
+        assertThat(code).hasSize(6).containsOnlyDigits();
+        assertThat(totpUtils.verifyCode(secret, code)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should refuse a negative window")
+    void testConstructor_NegativeWindow() {
+        assertThatThrownBy(() -> new TotpUtils(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
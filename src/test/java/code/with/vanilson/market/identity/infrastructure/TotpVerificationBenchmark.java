@@ -0,0 +1,66 @@
+package code.with.vanilson.market.identity.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifications per second of {@link TotpUtils#verifyCode} for a matching and a wrong code at each drift
+ * window. {@code main} attaches the GC profiler, so the report includes {@code gc.alloc.rate.norm}
+ * (bytes allocated per verification).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TotpVerificationBenchmark {
+
+    @Param({"0", "1", "2"})
+    private int window;
+
+    private TotpUtils totpUtils;
+    private String secret;
+    private String validCode;
+
+    @Setup
+    public void setUp() {
+        totpUtils = new TotpUtils(window);
+        secret = totpUtils.generateSecretKey();
+        validCode = totpUtils.getTOTPCode(secret);
+    }
+
+    @Benchmark
+    public boolean validCode() {
+        return totpUtils.verifyCode(secret, validCode);
+    }
+
+    @Benchmark
+    public boolean invalidCode() {
+        return totpUtils.verifyCode(secret, "000000");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TotpVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
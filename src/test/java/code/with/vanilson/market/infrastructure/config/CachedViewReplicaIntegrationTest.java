@@ -0,0 +1,164 @@
+package code.with.vanilson.market.infrastructure.config;
+
+import code.with.vanilson.market.customers.api.CustomerDto;
+import code.with.vanilson.market.customers.application.CustomerService;
+import code.with.vanilson.market.payments.api.PaymentDto;
+import code.with.vanilson.market.payments.application.PaymentService;
+import code.with.vanilson.market.products.api.ProductDto;
+import code.with.vanilson.market.products.application.ProductService;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs with replica routing on, against a "replica" that holds the schema but none of the data, so
+ * anything read from it is as stale as it gets. The cached customer, payment and catalog views must still
+ * reflect every committed write.
+ */
+class CachedViewReplicaIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "market_replica";
+    private static final String TENANT = "replica-tenant";
+
+    @MockBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) throws SQLException {
+        String replicaUrl = createReplicaDatabase();
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("spring.replica.url", () -> replicaUrl);
+        registry.add("spring.replica.username", postgres::getUsername);
+        registry.add("spring.replica.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void routeReadsToReplica() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("read-only listings should be served by the replica")
+    void listingsReadTheReplica() {
+        customerService.createCustomer(createRequest());
+
+        assertThat(customerService.getAllcustomers(TENANT, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a cached customer should be loaded from the primary after create and after update")
+    void customerViewFollowsWrites() {
+        CustomerDto.Response created = customerService.createCustomer(createRequest());
+        UUID id = UUID.fromString(created.getId());
+
+        assertThat(customerService.getCustomerById(TENANT, id).getName()).isEqualTo("Replica Customer");
+
+        CustomerDto.UpdateRequest update = new CustomerDto.UpdateRequest();
+        update.setName("Renamed Customer");
+        update.setEmail(created.getEmail());
+        customerService.updateCustomer(TENANT, id, update);
+
+        assertThat(customerService.getCustomerById(TENANT, id).getName()).isEqualTo("Renamed Customer");
+    }
+
+    @Test
+    @DisplayName("a payment should be readable by id and by order right after it is captured")
+    void paymentViewsFollowWrites() {
+        CustomerDto.Response customer = customerService.createCustomer(createRequest());
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO orders (id, tenant_id, customer_id, status, created_at) " +
+                "VALUES (?, ?, ?, 'PLACED', now())", orderId, TENANT, UUID.fromString(customer.getId()));
+
+        PaymentDto.ProcessRequest request = new PaymentDto.ProcessRequest();
+        request.setOrderId(orderId);
+        request.setAmount(new BigDecimal("19.99"));
+        request.setCurrency("USD");
+        PaymentDto.Response captured = paymentService.processPayment(request);
+
+        assertThat(paymentService.getPaymentById(captured.getId()).getOrderId()).isEqualTo(orderId);
+        assertThat(paymentService.getPaymentByOrderId(orderId).getId()).isEqualTo(captured.getId());
+    }
+
+    @Test
+    @DisplayName("a catalog entry should be loaded from the primary after create and after update")
+    void productViewFollowsWrites() {
+        ProductDto.CreateRequest create = new ProductDto.CreateRequest();
+        create.setTenantId(TENANT);
+        create.setName("Replica Product");
+        create.setSku("REPLICA-" + UUID.randomUUID());
+        create.setPrice(new BigDecimal("9.99"));
+        create.setCurrency("USD");
+        create.setInventoryCount(5);
+        UUID id = UUID.fromString(productService.createProduct(create).getId());
+
+        assertThat(productService.getProduct(TENANT, id).getName()).isEqualTo("Replica Product");
+
+        ProductDto.UpdateRequest update = new ProductDto.UpdateRequest();
+        update.setName("Renamed Product");
+        update.setPrice(new BigDecimal("7.99"));
+        update.setCurrency("USD");
+        productService.updateProduct(TENANT, id, update);
+
+        assertThat(productService.getProduct(TENANT, id).getName()).isEqualTo("Renamed Product");
+        assertThat(productService.getCatalogEntries(List.of(id))).containsKey(id);
+    }
+
+    private static CustomerDto.CreateRequest createRequest() {
+        CustomerDto.CreateRequest request = new CustomerDto.CreateRequest();
+        request.setTenantId(TENANT);
+        request.setName("Replica Customer");
+        request.setEmail("replica+" + UUID.randomUUID() + "@example.com");
+        return request;
+    }
+
+    /**
+     * Creates an empty, migrated database next to the primary to stand in for a replica that has
+     * replayed nothing.
+     */
+    private static String createReplicaDatabase() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()); Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + REPLICA_DATABASE);
+            statement.execute("CREATE DATABASE " + REPLICA_DATABASE);
+        }
+        String url = postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/" + REPLICA_DATABASE);
+        Flyway.configure()
+                .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("recovery_code_secret", "replica"))
+                .load()
+                .migrate();
+        return url;
+    }
+}
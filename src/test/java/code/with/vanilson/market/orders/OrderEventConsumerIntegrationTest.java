@@ -0,0 +1,121 @@
+package code.with.vanilson.market.orders;
+
+import code.with.vanilson.market.customers.domain.Customer;
+import code.with.vanilson.market.customers.domain.CustomerRepository;
+import code.with.vanilson.market.orders.domain.Order;
+import code.with.vanilson.market.orders.domain.OrderRepository;
+import code.with.vanilson.market.orders.domain.OrderStatus;
+import code.with.vanilson.market.shared.domain.PaymentEvents;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends a burst of payment confirmations and checks that the batch listener applies all of them,
+ * also when a poll carries a record of the wrong type.
+ */
+class OrderEventConsumerIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventConsumerIntegrationTest.class);
+    private static final int BURST = 500;
+
+    @Autowired
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    @DisplayName("batch listener should mark every order in a burst as paid")
+    void burstOfPaymentConfirmationsMarksOrdersPaid() throws Exception {
+        List<UUID> orderIds = placeOrders(BURST);
+
+        long start = System.nanoTime();
+        for (UUID orderId : orderIds) {
+            send(orderId);
+        }
+        kafkaTemplate.flush();
+
+        long paid = awaitPaid(orderIds);
+
+        log.info("applied {} payment confirmations in {} ms", paid,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        assertThat(paid).isEqualTo(BURST);
+    }
+
+    @Test
+    @DisplayName("a record that is not a payment event should not hold back the rest of its poll")
+    void foreignRecordDoesNotFailBatch() throws Exception {
+        List<UUID> orderIds = placeOrders(20);
+
+        for (int i = 0; i < orderIds.size(); i++) {
+            if (i == orderIds.size() / 2) {
+                kafkaTemplate.send("payments.captured", orderIds.get(i).toString(),
+                        "Payment captured for order: " + orderIds.get(i));
+            }
+            send(orderIds.get(i));
+        }
+        kafkaTemplate.flush();
+
+        assertThat(awaitPaid(orderIds)).isEqualTo(orderIds.size());
+    }
+
+    private List<UUID> placeOrders(int count) {
+        Customer customer = customerRepository.save(Customer.builder()
+                .tenantId("burst-tenant")
+                .name("Burst Customer")
+                .email("burst+" + UUID.randomUUID() + "@example.com")
+                .build());
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(Order.builder()
+                    .tenantId("burst-tenant")
+                    .customerId(customer.getId())
+                    .status(OrderStatus.PLACED)
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    private void send(UUID orderId) {
+        kafkaTemplate.send("payments.captured", orderId.toString(), PaymentEvents.PaymentCapturedEvent.builder()
+                .paymentId(UUID.randomUUID())
+                .orderId(orderId)
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .build());
+    }
+
+    private long awaitPaid(List<UUID> orderIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        long paid = 0;
+        while (System.currentTimeMillis() < deadline) {
+            paid = orderRepository.findAllById(orderIds).stream()
+                    .filter(order -> order.getStatus() == OrderStatus.PAID)
+                    .count();
+            if (paid == orderIds.size()) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        return paid;
+    }
+}
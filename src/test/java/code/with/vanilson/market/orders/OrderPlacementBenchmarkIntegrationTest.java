@@ -0,0 +1,117 @@
+package code.with.vanilson.market.orders;
+
+import code.with.vanilson.market.products.domain.Product;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports the p99 latency of the inventory step of order placement: the previous
+ * per-line {@code findById}/{@code save} loop against the batched lookup plus single-statement
+ * reservation used by {@code OrderService.placeOrder}. Timings are logged for comparison only;
+ * the assertions check that both paths reserved exactly what they were asked to.
+ */
+class OrderPlacementBenchmarkIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPlacementBenchmarkIntegrationTest.class);
+    private static final int INITIAL_INVENTORY = 1_000_000;
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final int[] CART_SIZES = {1, 10, 100};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productIds.clear();
+        for (int i = 0; i < 100; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .tenantId("bench-tenant")
+                    .name("Bench Product " + i)
+                    .sku("BENCH-" + UUID.randomUUID())
+                    .price(new Money(new BigDecimal("10.00"), "USD"))
+                    .inventoryCount(INITIAL_INVENTORY)
+                    .build());
+            productIds.add(product.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("batched lookup and reservation should reserve the same stock as the per-line loop")
+    void reportP99Latency() {
+        for (int cartSize : CART_SIZES) {
+            List<UUID> cart = productIds.subList(0, cartSize);
+
+            long perLineP99 = p99(cart, this::perLine);
+            long batchedP99 = p99(cart, this::batched);
+
+            log.info("cart={} items per-line p99={} ms batched p99={} ms",
+                    cartSize, perLineP99 / 1_000_000.0, batchedP99 / 1_000_000.0);
+        }
+
+        // Every run of either strategy takes one unit from each product in its cart
+        int runsPerCart = 2 * (WARMUP_ITERATIONS + MEASURED_ITERATIONS);
+        for (int i = 0; i < productIds.size(); i++) {
+            int index = i;
+            long carts = Arrays.stream(CART_SIZES).filter(size -> index < size).count();
+            assertThat(productRepository.findById(productIds.get(i)).orElseThrow().getInventoryCount())
+                    .isEqualTo((int) (INITIAL_INVENTORY - carts * runsPerCart));
+        }
+    }
+
+    private void perLine(List<UUID> cart) {
+        for (UUID id : cart) {
+            Product product = productRepository.findById(id).orElseThrow();
+            product.decreaseInventory(1);
+            productRepository.save(product);
+        }
+    }
+
+    private void batched(List<UUID> cart) {
+        productRepository.findAllById(cart);
+        Map<UUID, Integer> quantities = cart.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> 1));
+        assertThat(productRepository.reserveInventory(quantities)).isTrue();
+    }
+
+    private long p99(List<UUID> cart, Consumer<List<UUID>> strategy) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            transactionTemplate.executeWithoutResult(status -> strategy.accept(cart));
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> strategy.accept(cart));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(MEASURED_ITERATIONS * 0.99) - 1];
+    }
+}
@@ -6,6 +6,7 @@ import code.with.vanilson.market.identity.infrastructure.JwtAuthenticationFilter
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
 import code.with.vanilson.market.orders.application.OrderService;
 import code.with.vanilson.market.shared.infrastructure.IdempotencyFilter;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
 import code.with.vanilson.market.shared.infrastructure.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -43,6 +44,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("Order Controller Tests")
 class OrderControllerTest {
 
+    private static final String TENANT_ID = "t1";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -129,15 +132,46 @@ class OrderControllerTest {
         response.setId(id);
         response.setStatus("COMPLETED");
 
-        when(orderService.getOrder(id)).thenReturn(response);
+        when(orderService.getOrder(TENANT_ID, id)).thenReturn(response);
 
         // When & Then
-        mockMvc.perform(get("/api/orders/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/orders/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(id.toString()))
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
 
-        verify(orderService, times(1)).getOrder(id);
+        verify(orderService, times(1)).getOrder(TENANT_ID, id);
+    }
+
+    @Test
+    @DisplayName("Should list a customer's orders for the caller's tenant")
+    void shouldGetCustomerOrdersSuccessfully() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        OrderDto.Response response = new OrderDto.Response();
+        response.setId(UUID.randomUUID());
+        response.setCustomerId(customerId);
+
+        when(orderService.getCustomerOrders(TENANT_ID, customerId, 10)).thenReturn(List.of(response));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders").param("customerId", customerId.toString()).param("size", "10")
+                        .with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].customerId").value(customerId.toString()));
+
+        verify(orderService, times(1)).getCustomerOrders(TENANT_ID, customerId, 10);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the request carries no tenant")
+    void shouldReturn400WhenTenantIsMissing() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/orders/{id}", UUID.randomUUID()).with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("MISSING_REQUEST_VALUE"));
+
+        verifyNoInteractions(orderService);
     }
 
     @Test
@@ -159,10 +193,10 @@ class OrderControllerTest {
     void shouldHandleKafkaException() throws Exception {
         // Given
         UUID id = UUID.randomUUID();
-        when(orderService.getOrder(id)).thenThrow(new org.springframework.kafka.KafkaException("Kafka down"));
+        when(orderService.getOrder(TENANT_ID, id)).thenThrow(new org.springframework.kafka.KafkaException("Kafka down"));
 
         // When & Then
-        mockMvc.perform(get("/api/orders/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/orders/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.errorCode").value("KAFKA_ERROR"));
     }
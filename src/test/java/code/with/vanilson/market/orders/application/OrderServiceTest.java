@@ -7,31 +7,49 @@ import code.with.vanilson.market.orders.domain.Order;
 import code.with.vanilson.market.orders.domain.OrderItem;
 import code.with.vanilson.market.orders.domain.OrderRepository;
 import code.with.vanilson.market.orders.domain.OrderStatus;
+import code.with.vanilson.market.products.application.ProductService;
 import code.with.vanilson.market.products.domain.Product;
 import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.products.infrastructure.ProductCatalog;
+import code.with.vanilson.market.promotions.application.CouponRedemptionService;
 import code.with.vanilson.market.promotions.domain.Coupon;
 import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,13 +68,18 @@ class OrderServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductService productService;
+
     @Mock
     private CouponRepository couponRepository;
 
+    @Mock
+    private CouponRedemptionService couponRedemptionService;
+
     @Mock
     private EventProducer eventProducer;
 
-    @InjectMocks
     private OrderService orderService;
 
     private static final UUID ORDER_ID = UUID.randomUUID();
@@ -65,6 +88,19 @@ class OrderServiceTest {
     private static final UUID PRODUCT_ID = UUID.randomUUID();
     private static final String COUPON_CODE = "SAVE20";
 
+    @BeforeEach
+    void setUp() {
+        ProductCatalog productCatalog = new ProductCatalog(productRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(), 100, 100, 60, 1000);
+        CouponIndex couponIndex = new CouponIndex(couponRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(), 100, 100, 60);
+        // Catalog lookups go through ProductService; serve them from a real catalog over the repository mock
+        lenient().when(productService.getCatalogEntries(anyCollection()))
+                .thenAnswer(invocation -> productCatalog.getAll(invocation.getArgument(0)));
+        orderService = new OrderService(orderRepository, customerRepository, productService,
+                couponIndex, couponRedemptionService, eventProducer);
+    }
+
     // ========================= Place Order Tests =========================
 
     @Test
@@ -109,8 +145,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Act
@@ -126,8 +162,8 @@ class OrderServiceTest {
         assertThat(response.getItems().get(0).getQuantity()).isEqualTo(2);
 
         verify(customerRepository, times(1)).existsById(CUSTOMER_ID);
-        verify(productRepository, times(1)).findById(PRODUCT_ID);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).findAllById(anyCollection());
+        verify(productService, times(1)).reserveInventory(anyMap());
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(eventProducer, times(1)).publish(anyString(), any());
     }
@@ -170,7 +206,7 @@ class OrderServiceTest {
         request.setItems(Collections.singletonList(itemRequest));
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.emptyList());
 
         // Act & Assert
         assertThatThrownBy(() -> orderService.placeOrder(request))
@@ -178,8 +214,87 @@ class OrderServiceTest {
                 .hasMessage("Product not found: " + PRODUCT_ID);
 
         verify(customerRepository, times(1)).existsById(CUSTOMER_ID);
-        verify(productRepository, times(1)).findById(PRODUCT_ID);
+        verify(productRepository, times(1)).findAllById(anyCollection());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("should throw DomainException when inventory cannot be reserved")
+    void testPlaceOrder_InsufficientInventory() {
+        // Arrange
+        OrderDto.OrderItemRequest itemRequest = new OrderDto.OrderItemRequest();
+        itemRequest.setProductId(PRODUCT_ID);
+        itemRequest.setQuantity(5);
+
+        OrderDto.CreateRequest request = new OrderDto.CreateRequest();
+        request.setTenantId(TENANT_ID);
+        request.setCustomerId(CUSTOMER_ID);
+        request.setItems(Collections.singletonList(itemRequest));
+
+        Product product = Product.builder()
+                .sku("PROD-001")
+                .price(new Money(new BigDecimal("50.00"), "USD"))
+                .inventoryCount(1)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.placeOrder(request))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Insufficient inventory");
+
+        verify(productService, times(1)).reserveInventory(Map.of(PRODUCT_ID, 5));
         verify(orderRepository, never()).save(any(Order.class));
+        verify(eventProducer, never()).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("should merge repeated cart lines into a single reservation per product")
+    void testPlaceOrder_MergesDuplicateLines() {
+        // Arrange
+        OrderDto.OrderItemRequest line1 = new OrderDto.OrderItemRequest();
+        line1.setProductId(PRODUCT_ID);
+        line1.setQuantity(2);
+
+        OrderDto.OrderItemRequest line2 = new OrderDto.OrderItemRequest();
+        line2.setProductId(PRODUCT_ID);
+        line2.setQuantity(3);
+
+        OrderDto.CreateRequest request = new OrderDto.CreateRequest();
+        request.setTenantId(TENANT_ID);
+        request.setCustomerId(CUSTOMER_ID);
+        request.setItems(Arrays.asList(line1, line2));
+
+        Product product = Product.builder()
+                .sku("PROD-001")
+                .price(new Money(new BigDecimal("10.00"), "USD"))
+                .inventoryCount(100)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        Order savedOrder = Order.builder()
+                .tenantId(TENANT_ID)
+                .customerId(CUSTOMER_ID)
+                .status(OrderStatus.PLACED)
+                .createdAt(Instant.now())
+                .totalAmount(new Money(new BigDecimal("50.00"), "USD"))
+                .build();
+        ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
+
+        when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+        // Act
+        orderService.placeOrder(request);
+
+        // Assert
+        verify(productService, times(1)).reserveInventory(Map.of(PRODUCT_ID, 5));
     }
 
     @Test
@@ -244,9 +359,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(productId2)).thenReturn(Optional.of(product2));
-        when(productRepository.save(any(Product.class))).thenReturn(product1).thenReturn(product2);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(product1, product2));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Act
@@ -259,8 +373,9 @@ class OrderServiceTest {
         assertThat(response.getItems()).extracting("quantity")
                 .containsExactly(2, 3);
 
-        verify(productRepository, times(2)).findById(any(UUID.class));
-        verify(productRepository, times(2)).save(any(Product.class));
+        verify(productRepository, times(1)).findAllById(anyCollection());
+        verify(productRepository, never()).findById(any(UUID.class));
+        verify(productService, times(1)).reserveInventory(anyMap());
     }
 
     @Test
@@ -313,8 +428,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(couponRepository.findByCode(COUPON_CODE)).thenReturn(Optional.of(coupon));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
@@ -325,9 +440,65 @@ class OrderServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getItems()).hasSize(1);
         verify(couponRepository, times(1)).findByCode(COUPON_CODE);
+        verify(couponRedemptionService, times(1))
+                .redeem(argThat(entry -> entry.id().equals(coupon.getId())), eq(CUSTOMER_ID), eq(ORDER_ID));
         verify(eventProducer, times(1)).publish(anyString(), any());
     }
 
+    @Test
+    @DisplayName("should fail the order when the coupon has no redemptions left")
+    void testPlaceOrder_CouponRedemptionLimitReached() {
+        // Arrange
+        OrderDto.OrderItemRequest itemRequest = new OrderDto.OrderItemRequest();
+        itemRequest.setProductId(PRODUCT_ID);
+        itemRequest.setQuantity(1);
+
+        OrderDto.CreateRequest request = new OrderDto.CreateRequest();
+        request.setTenantId(TENANT_ID);
+        request.setCustomerId(CUSTOMER_ID);
+        request.setItems(Collections.singletonList(itemRequest));
+        request.setCouponCode(COUPON_CODE);
+
+        Product product = Product.builder()
+                .sku("PROD-001")
+                .price(new Money(new BigDecimal("100.00"), "USD"))
+                .inventoryCount(100)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        Coupon coupon = Coupon.builder()
+                .code(COUPON_CODE)
+                .discount(new Money(new BigDecimal("20.00"), "USD"))
+                .expiryDate(Instant.now().plusSeconds(86400))
+                .active(true)
+                .maxRedemptions(100)
+                .build();
+        ReflectionTestUtils.setField(coupon, "id", UUID.randomUUID());
+
+        Order savedOrder = Order.builder()
+                .tenantId(TENANT_ID)
+                .customerId(CUSTOMER_ID)
+                .status(OrderStatus.PLACED)
+                .createdAt(Instant.now())
+                .build();
+        ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
+
+        when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
+        when(couponRepository.findByCode(COUPON_CODE)).thenReturn(Optional.of(coupon));
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        doThrow(new DomainException("Coupon redemption limit reached"))
+                .when(couponRedemptionService).redeem(any(), eq(CUSTOMER_ID), eq(ORDER_ID));
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.placeOrder(request))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Coupon redemption limit reached");
+
+        verify(eventProducer, never()).publish(anyString(), any());
+    }
+
     @Test
     @DisplayName("should throw DomainException when invalid coupon code provided")
     void testPlaceOrder_InvalidCouponCode() {
@@ -350,8 +521,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(couponRepository.findByCode(COUPON_CODE)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -392,8 +563,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(expiredCoupon, "id", UUID.randomUUID());
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(couponRepository.findByCode(COUPON_CODE)).thenReturn(Optional.of(expiredCoupon));
 
         // Act & Assert
@@ -435,8 +606,8 @@ class OrderServiceTest {
         ReflectionTestUtils.setField(savedOrder, "id", ORDER_ID);
 
         when(customerRepository.existsById(CUSTOMER_ID)).thenReturn(true);
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(product));
+        when(productService.reserveInventory(anyMap())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Act
@@ -445,6 +616,7 @@ class OrderServiceTest {
         // Assert
         assertThat(response).isNotNull();
         verify(couponRepository, never()).findByCode(anyString());
+        verify(couponRedemptionService, never()).redeem(any(), any(), any());
     }
 
     // ========================= Cancel Order Tests =========================
@@ -463,6 +635,7 @@ class OrderServiceTest {
 
         when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(eventProducer.publishAsync(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         orderService.cancelOrder(ORDER_ID);
@@ -470,7 +643,7 @@ class OrderServiceTest {
         // Assert
         verify(orderRepository, times(1)).findById(ORDER_ID);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(eventProducer, times(1)).publish(anyString(), anyString());
+        verify(eventProducer, times(1)).publishAsync(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -486,7 +659,7 @@ class OrderServiceTest {
 
         verify(orderRepository, times(1)).findById(ORDER_ID);
         verify(orderRepository, never()).save(any(Order.class));
-        verify(eventProducer, never()).publish(anyString(), anyString());
+        verify(eventProducer, never()).publishAsync(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -500,12 +673,13 @@ class OrderServiceTest {
 
         when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(eventProducer.publishAsync(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         orderService.cancelOrder(ORDER_ID);
 
         // Assert
-        verify(eventProducer, times(1)).publish("orders.cancelled", "Order cancelled: " + ORDER_ID);
+        verify(eventProducer, times(1)).publishAsync("orders.cancelled", ORDER_ID.toString(), "Order cancelled: " + ORDER_ID);
     }
 
     // ========================= Settle Order Tests =========================
@@ -529,7 +703,7 @@ class OrderServiceTest {
 
         // Assert
         verify(orderRepository, times(1)).findById(ORDER_ID);
-        verify(eventProducer, times(1)).publish(anyString(), anyString());
+        verify(eventProducer, times(1)).publish(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -544,7 +718,7 @@ class OrderServiceTest {
                 .hasMessage("Order not found");
 
         verify(orderRepository, times(1)).findById(ORDER_ID);
-        verify(eventProducer, never()).publish(anyString(), anyString());
+        verify(eventProducer, never()).publish(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -562,7 +736,7 @@ class OrderServiceTest {
         orderService.settleOrder(ORDER_ID);
 
         // Assert
-        verify(eventProducer, times(1)).publish("orders.settled", "Order settled: " + ORDER_ID);
+        verify(eventProducer, times(1)).publish("orders.settled", ORDER_ID.toString(), "Order settled: " + ORDER_ID);
     }
 
     // ========================= Get Order Tests =========================
@@ -579,10 +753,10 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(order, "id", ORDER_ID);
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto.Response response = orderService.getOrder(ORDER_ID);
+        OrderDto.Response response = orderService.getOrder(TENANT_ID, ORDER_ID);
 
         // Assert
         assertThat(response).isNotNull();
@@ -590,21 +764,46 @@ class OrderServiceTest {
         assertThat(response.getCustomerId()).isEqualTo(CUSTOMER_ID);
         assertThat(response.getStatus()).isEqualTo("PLACED");
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
     }
 
     @Test
     @DisplayName("should throw DomainException when retrieving non-existent order")
     void testGetOrder_OrderNotFound() {
         // Arrange
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> orderService.getOrder(ORDER_ID))
+        assertThatThrownBy(() -> orderService.getOrder(TENANT_ID, ORDER_ID))
                 .isInstanceOf(DomainException.class)
                 .hasMessage("Order not found");
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
+    }
+
+    @Test
+    @DisplayName("should list a customer's orders within the tenant")
+    void testGetCustomerOrders_ScopedToTenant() {
+        // Arrange
+        Order order = Order.builder()
+                .tenantId(TENANT_ID)
+                .customerId(CUSTOMER_ID)
+                .status(OrderStatus.PLACED)
+                .createdAt(Instant.now())
+                .build();
+        ReflectionTestUtils.setField(order, "id", ORDER_ID);
+
+        when(orderRepository.findByTenantIdAndCustomerIdOrderByCreatedAtDesc(TENANT_ID, CUSTOMER_ID, Limit.of(20)))
+                .thenReturn(List.of(order));
+
+        // Act
+        List<OrderDto.Response> responses = orderService.getCustomerOrders(TENANT_ID, CUSTOMER_ID, 20);
+
+        // Assert
+        assertThat(responses).extracting(OrderDto.Response::getId).containsExactly(ORDER_ID);
+
+        verify(orderRepository, times(1))
+                .findByTenantIdAndCustomerIdOrderByCreatedAtDesc(TENANT_ID, CUSTOMER_ID, Limit.of(20));
     }
 
     @Test
@@ -629,17 +828,17 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(order, "id", ORDER_ID);
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto.Response response = orderService.getOrder(ORDER_ID);
+        OrderDto.Response response = orderService.getOrder(TENANT_ID, ORDER_ID);
 
         // Assert
         assertThat(response.getItems()).hasSize(1);
         assertThat(response.getTotalAmount()).isEqualTo(new BigDecimal("100.00"));
         assertThat(response.getCurrency()).isEqualTo("USD");
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
     }
 
     @Test
@@ -653,16 +852,16 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(order, "id", ORDER_ID);
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto.Response response = orderService.getOrder(ORDER_ID);
+        OrderDto.Response response = orderService.getOrder(TENANT_ID, ORDER_ID);
 
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.getTotalAmount()).isNull();
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
     }
 
     @Test
@@ -676,15 +875,15 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(order, "id", ORDER_ID);
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto.Response response = orderService.getOrder(ORDER_ID);
+        OrderDto.Response response = orderService.getOrder(TENANT_ID, ORDER_ID);
 
         // Assert
         assertThat(response.getItems()).isEmpty();
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
     }
 
     @Test
@@ -715,17 +914,17 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(order, "id", ORDER_ID);
 
-        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.findByTenantIdAndId(TENANT_ID, ORDER_ID)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto.Response response = orderService.getOrder(ORDER_ID);
+        OrderDto.Response response = orderService.getOrder(TENANT_ID, ORDER_ID);
 
         // Assert
         assertThat(response.getItems()).hasSize(2);
         assertThat(response.getCurrency()).isEqualTo("EUR");
         assertThat(response.getTotalAmount()).isEqualTo(new BigDecimal("200.00"));
 
-        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(orderRepository, times(1)).findByTenantIdAndId(TENANT_ID, ORDER_ID);
     }
 }
 
@@ -5,6 +5,7 @@ import code.with.vanilson.market.identity.infrastructure.CustomUserDetailsServic
 import code.with.vanilson.market.identity.infrastructure.JwtAuthenticationFilter;
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
 import code.with.vanilson.market.payments.application.PaymentService;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.infrastructure.IdempotencyFilter;
 import code.with.vanilson.market.shared.infrastructure.exception.CurrencyMismatchException;
 import code.with.vanilson.market.shared.infrastructure.exception.GlobalExceptionHandler;
@@ -80,14 +81,15 @@ class PaymentControllerTest {
         response.setAmount(new BigDecimal("50.00"));
         response.setStatus("COMPLETED");
 
-        when(paymentService.listAllPayments()).thenReturn(List.of(response));
+        when(paymentService.listAllPayments(null, null)).thenReturn(new CursorPage<>(List.of(response), "next"));
 
         // When & Then
         mockMvc.perform(get("/api/payments").with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("COMPLETED"));
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
-        verify(paymentService, times(1)).listAllPayments();
+        verify(paymentService, times(1)).listAllPayments(null, null);
     }
 
     @Test
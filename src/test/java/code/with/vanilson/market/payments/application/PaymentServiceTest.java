@@ -1,6 +1,7 @@
 package code.with.vanilson.market.payments.application;
 
 import code.with.vanilson.market.events.domain.EventProducer;
+import code.with.vanilson.market.events.domain.PaymentChangedEvent;
 import code.with.vanilson.market.orders.domain.OrderRepository;
 import code.with.vanilson.market.payments.api.PaymentDto;
 import code.with.vanilson.market.payments.domain.Payment;
@@ -8,6 +9,7 @@ import code.with.vanilson.market.payments.domain.PaymentRepository;
 import code.with.vanilson.market.payments.domain.PaymentStatus;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.domain.PaymentEvents;
 import code.with.vanilson.market.shared.infrastructure.exception.PaymentNotFoundException;
 import code.with.vanilson.market.shared.infrastructure.exception.PaymentStatusException;
 import org.junit.jupiter.api.DisplayName;
@@ -16,10 +18,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -80,10 +85,10 @@ class PaymentServiceTest {
 
         List<Payment> payments = Arrays.asList(payment1, payment2);
 
-        when(paymentRepository.findAll()).thenReturn(payments);
+        when(paymentRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(payments);
 
         // Act
-        List<PaymentDto.Response> responses = paymentService.listAllPayments();
+        List<PaymentDto.Response> responses = paymentService.listAllPayments(null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
@@ -91,23 +96,23 @@ class PaymentServiceTest {
         assertThat(responses).extracting("status")
                 .containsExactly("CAPTURED", "CAPTURED");
 
-        verify(paymentRepository, times(1)).findAll();
+        verify(paymentRepository, times(1)).findAllByOrderByIdAsc(any(Limit.class));
     }
 
     @Test
     @DisplayName("should return empty list when no payments exist")
     void testListAllPayments_EmptyList() {
         // Arrange
-        when(paymentRepository.findAll()).thenReturn(Collections.emptyList());
+        when(paymentRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
 
         // Act
-        List<PaymentDto.Response> responses = paymentService.listAllPayments();
+        List<PaymentDto.Response> responses = paymentService.listAllPayments(null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
         assertThat(responses).isEmpty();
 
-        verify(paymentRepository, times(1)).findAll();
+        verify(paymentRepository, times(1)).findAllByOrderByIdAsc(any(Limit.class));
     }
 
     @Test
@@ -131,17 +136,17 @@ class PaymentServiceTest {
                 .build();
         ReflectionTestUtils.setField(payment2, "id", PAYMENT_ID);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment1, payment2));
+        when(paymentRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Arrays.asList(payment1, payment2));
 
         // Act
-        List<PaymentDto.Response> responses = paymentService.listAllPayments();
+        List<PaymentDto.Response> responses = paymentService.listAllPayments(null, null).getItems();
 
         // Assert
         assertThat(responses).hasSize(2);
         assertThat(responses.get(0).getAmount()).isEqualTo(new BigDecimal("100.00"));
         assertThat(responses.get(1).getAmount()).isEqualTo(new BigDecimal("200.00"));
 
-        verify(paymentRepository, times(1)).findAll();
+        verify(paymentRepository, times(1)).findAllByOrderByIdAsc(any(Limit.class));
     }
 
     // ========================= Get Payment By Order ID Tests =========================
@@ -218,7 +223,7 @@ class PaymentServiceTest {
 
         verify(orderRepository, times(1)).existsById(ORDER_ID);
         verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(eventProducer, times(1)).publish(anyString(), anyString());
+        verify(eventProducer, times(1)).publish(eq("payments.captured"), anyString(), any(PaymentEvents.PaymentCapturedEvent.class));
     }
 
     @Test
@@ -239,7 +244,7 @@ class PaymentServiceTest {
 
         verify(orderRepository, times(1)).existsById(ORDER_ID);
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventProducer, never()).publish(anyString(), anyString());
+        verify(eventProducer, never()).publish(anyString(), anyString(), any());
     }
 
     @Test
@@ -265,7 +270,11 @@ class PaymentServiceTest {
         paymentService.processPayment(request);
 
         // Assert
-        verify(eventProducer, times(1)).publish("payments.captured", "Payment captured for order: " + ORDER_ID);
+        verify(eventProducer, times(1)).publish(eq("payments.captured"), eq(PAYMENT_ID.toString()),
+                argThat((PaymentEvents.PaymentCapturedEvent event) -> event.getPaymentId().equals(PAYMENT_ID)
+                        && event.getOrderId().equals(ORDER_ID)
+                        && event.getAmount().compareTo(AMOUNT) == 0
+                        && event.getCurrency().equals(CURRENCY)));
     }
 
     @Test
@@ -319,7 +328,7 @@ class PaymentServiceTest {
         // Assert
         verify(paymentRepository, times(1)).findByOrderId(ORDER_ID);
         verify(paymentRepository, times(1)).save(any(Payment.class));
-        verify(eventProducer, times(1)).publish("payments.refunded", "Payment refunded for order: " + ORDER_ID);
+        verify(eventProducer, times(1)).publish("payments.refunded", PAYMENT_ID.toString(), "Payment refunded for order: " + ORDER_ID);
     }
 
     @Test
@@ -335,7 +344,7 @@ class PaymentServiceTest {
 
         verify(paymentRepository, times(1)).findByOrderId(ORDER_ID);
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventProducer, never()).publish(anyString(), anyString());
+        verify(eventProducer, never()).publish(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -359,7 +368,7 @@ class PaymentServiceTest {
 
         verify(paymentRepository, times(1)).findByOrderId(ORDER_ID);
         verify(paymentRepository, never()).save(any(Payment.class));
-        verify(eventProducer, never()).publish(anyString(), anyString());
+        verify(eventProducer, never()).publish(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -391,6 +400,32 @@ class PaymentServiceTest {
         verify(paymentRepository).save(argThat(p -> p.getStatus() == PaymentStatus.REFUNDED));
     }
 
+    @Test
+    @DisplayName("should raise a change event carrying both cache keys after a refund")
+    void testRefundOrder_RegistersChangeEvent() {
+        // Arrange
+        Payment payment = Payment.builder()
+                .orderId(ORDER_ID)
+                .amount(new Money(AMOUNT, CURRENCY))
+                .status(PaymentStatus.CAPTURED)
+                .build();
+        ReflectionTestUtils.setField(payment, "id", PAYMENT_ID);
+
+        when(paymentRepository.findByOrderId(ORDER_ID)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+
+        // Act
+        paymentService.refundOrder(ORDER_ID);
+
+        // Assert
+        Collection<?> events = ReflectionTestUtils.invokeMethod(payment, "domainEvents");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(PaymentChangedEvent.class, event -> {
+                    assertThat(event.getPaymentId()).isEqualTo(PAYMENT_ID);
+                    assertThat(event.getOrderId()).isEqualTo(ORDER_ID);
+                });
+    }
+
     // ========================= Get Payment By ID Tests =========================
 
     @Test
@@ -480,17 +515,17 @@ class PaymentServiceTest {
                 .build();
         ReflectionTestUtils.setField(payment2, "id", PAYMENT_ID);
 
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(payment1, payment2));
+        when(paymentRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Arrays.asList(payment1, payment2));
 
         // Act
-        List<PaymentDto.Response> responses = paymentService.listAllPayments();
+        List<PaymentDto.Response> responses = paymentService.listAllPayments(null, null).getItems();
 
         // Assert
         assertThat(responses).hasSize(2);
         assertThat(responses).extracting("status")
                 .containsExactly("CAPTURED", "REFUNDED");
 
-        verify(paymentRepository, times(1)).findAll();
+        verify(paymentRepository, times(1)).findAllByOrderByIdAsc(any(Limit.class));
     }
 
     @Test
@@ -566,7 +601,7 @@ class PaymentServiceTest {
         // Assert
         verify(paymentRepository).findByOrderId(ORDER_ID);
         verify(paymentRepository).save(any(Payment.class));
-        verify(eventProducer).publish(anyString(), anyString());
+        verify(eventProducer).publish(anyString(), anyString(), anyString());
         verifyNoMoreInteractions(paymentRepository);
     }
 }
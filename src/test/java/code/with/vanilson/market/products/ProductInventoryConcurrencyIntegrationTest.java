@@ -0,0 +1,183 @@
+package code.with.vanilson.market.products;
+
+import code.with.vanilson.market.products.domain.Product;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single SKU from 200 threads and checks that the conditional {@code UPDATE}
+ * reservation never oversells. The throughput of the JPA read-modify-write path guarded by
+ * {@code SELECT ... FOR UPDATE} is logged alongside it for comparison.
+ */
+class ProductInventoryConcurrencyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductInventoryConcurrencyIntegrationTest.class);
+
+    private static final int THREADS = 200;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+    private static final int INITIAL_STOCK = 1_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("conditional update should never oversell a hot SKU")
+    void atomicReservationNeverOversells() throws InterruptedException {
+        UUID productId = seedProduct();
+
+        Result atomic = hammer(productId, id -> Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                productRepository.reserveInventory(id, 1) == 1)));
+
+        int remaining = productRepository.findById(productId).orElseThrow().getInventoryCount();
+        assertThat(remaining).isZero();
+        assertThat(atomic.granted()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    @DisplayName("multi-SKU reservation should grant exactly the available stock")
+    void cartReservationNeverOversells() throws InterruptedException {
+        UUID hot = seedProduct();
+        UUID cold = seedProduct();
+
+        Result cart = hammer(hot, id -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!productRepository.reserveInventory(Map.of(id, 1, cold, 1))) {
+                        throw new IllegalStateException("out of stock");
+                    }
+                });
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+
+        assertThat(cart.granted()).isEqualTo(INITIAL_STOCK);
+        assertThat(productRepository.findById(hot).orElseThrow().getInventoryCount()).isZero();
+        assertThat(productRepository.findById(cold).orElseThrow().getInventoryCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("carts sharing products in different combinations should not deadlock")
+    void overlappingCartsDoNotDeadlock() throws InterruptedException {
+        List<UUID> products = List.of(seedProduct(), seedProduct(), seedProduct());
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        Result carts = hammer(products.get(0), id -> {
+            // Each attempt takes two of the three products, rotating which pair
+            int n = attempts.getAndIncrement();
+            UUID first = products.get(n % 3);
+            UUID second = products.get((n + 1) % 3);
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    if (!productRepository.reserveInventory(Map.of(first, 1, second, 1))) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    return true;
+                }));
+            } catch (DataAccessException e) {
+                failures.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertThat(failures).hasValue(0);
+        int remaining = products.stream()
+                .mapToInt(id -> productRepository.findById(id).orElseThrow().getInventoryCount())
+                .sum();
+        assertThat(remaining).isEqualTo(3 * INITIAL_STOCK - 2 * carts.granted());
+    }
+
+    @Test
+    @DisplayName("conditional update and the locked JPA path should both grant exactly the stock")
+    void atomicReservationComparedWithLockedJpaPath() throws InterruptedException {
+        UUID jpaProduct = seedProduct();
+        Result jpa = hammer(jpaProduct, id -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Product product = productRepository.findAllByIdForUpdate(List.of(id)).get(0);
+            if (product.getInventoryCount() < 1) {
+                return false;
+            }
+            product.decreaseInventory(1);
+            productRepository.save(product);
+            return true;
+        })));
+
+        UUID atomicProduct = seedProduct();
+        Result atomic = hammer(atomicProduct, id -> Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                productRepository.reserveInventory(id, 1) == 1)));
+
+        log.info("locked JPA: {} attempts/s, conditional update: {} attempts/s",
+                Math.round(jpa.throughput()), Math.round(atomic.throughput()));
+
+        assertThat(jpa.granted()).isEqualTo(INITIAL_STOCK);
+        assertThat(atomic.granted()).isEqualTo(INITIAL_STOCK);
+    }
+
+    private UUID seedProduct() {
+        return productRepository.save(Product.builder()
+                .tenantId("stress-tenant")
+                .name("Flash Sale Item")
+                .sku("HOT-" + UUID.randomUUID())
+                .price(new Money(new BigDecimal("9.99"), "USD"))
+                .inventoryCount(INITIAL_STOCK)
+                .build()).getId();
+    }
+
+    private Result hammer(UUID productId, Predicate<UUID> reserve) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (reserve.test(productId)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - begin;
+
+        return new Result(granted.get(), elapsed);
+    }
+
+    private record Result(int granted, long elapsedNanos) {
+        double throughput() {
+            return (THREADS * ATTEMPTS_PER_THREAD) / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
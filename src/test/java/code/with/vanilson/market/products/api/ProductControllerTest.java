@@ -5,7 +5,9 @@ import code.with.vanilson.market.identity.infrastructure.CustomUserDetailsServic
 import code.with.vanilson.market.identity.infrastructure.JwtAuthenticationFilter;
 import code.with.vanilson.market.identity.infrastructure.JwtProvider;
 import code.with.vanilson.market.products.application.ProductService;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.infrastructure.IdempotencyFilter;
+import code.with.vanilson.market.shared.infrastructure.TenantContext;
 import code.with.vanilson.market.shared.infrastructure.exception.GlobalExceptionHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -43,6 +45,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("Product Controller Tests")
 class ProductControllerTest {
 
+    private static final String TENANT_ID = "t1";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -125,14 +129,14 @@ class ProductControllerTest {
         response.setId(id.toString());
         response.setName("Orange");
 
-        when(productService.getProduct(id)).thenReturn(response);
+        when(productService.getProduct(TENANT_ID, id)).thenReturn(response);
 
         // When & Then
-        mockMvc.perform(get("/api/products/{id}", id).with(csrf()))
+        mockMvc.perform(get("/api/products/{id}", id).with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(id.toString()));
 
-        verify(productService, times(1)).getProduct(id);
+        verify(productService, times(1)).getProduct(TENANT_ID, id);
     }
 
     @Test
@@ -142,13 +146,14 @@ class ProductControllerTest {
         ProductDto.Response response = new ProductDto.Response();
         response.setName("Banana");
 
-        when(productService.getAllProducts()).thenReturn(List.of(response));
+        when(productService.getAllProducts(TENANT_ID, null, null)).thenReturn(new CursorPage<>(List.of(response), "next"));
 
         // When & Then
-        mockMvc.perform(get("/api/products").with(csrf()))
+        mockMvc.perform(get("/api/products").with(csrf()).requestAttr(TenantContext.TENANT_ID, TENANT_ID))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Banana"));
+                .andExpect(jsonPath("$.items[0].name").value("Banana"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
-        verify(productService, times(1)).getAllProducts();
+        verify(productService, times(1)).getAllProducts(TENANT_ID, null, null);
     }
 }
@@ -1,28 +1,40 @@
 package code.with.vanilson.market.products.application;
 
+import code.with.vanilson.market.events.domain.ProductChangedEvent;
 import code.with.vanilson.market.products.api.ProductDto;
 import code.with.vanilson.market.products.domain.Product;
 import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.products.infrastructure.HotSkuInventoryLedger;
+import code.with.vanilson.market.products.infrastructure.ProductCatalog;
+import code.with.vanilson.market.shared.application.CursorPage;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -36,7 +48,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private HotSkuInventoryLedger hotSkuInventoryLedger;
+
     private ProductService productService;
 
     private static final UUID PRODUCT_ID = UUID.randomUUID();
@@ -48,6 +62,13 @@ class ProductServiceTest {
     private static final String CURRENCY = "USD";
     private static final int INVENTORY_COUNT = 100;
 
+    @BeforeEach
+    void setUp() {
+        ProductCatalog productCatalog = new ProductCatalog(productRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(), 100, 100, 60, 1000);
+        productService = new ProductService(productRepository, hotSkuInventoryLedger, productCatalog);
+    }
+
     // ========================= Create Product Tests =========================
 
     @Test
@@ -181,7 +202,7 @@ class ProductServiceTest {
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
 
         // Act
-        ProductDto.Response response = productService.getProduct(PRODUCT_ID);
+        ProductDto.Response response = productService.getProduct(TENANT_ID, PRODUCT_ID);
 
         // Assert
         assertThat(response).isNotNull();
@@ -200,7 +221,7 @@ class ProductServiceTest {
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> productService.getProduct(PRODUCT_ID))
+        assertThatThrownBy(() -> productService.getProduct(TENANT_ID, PRODUCT_ID))
                 .isInstanceOf(DomainException.class)
                 .hasMessage("Product not found");
 
@@ -224,7 +245,7 @@ class ProductServiceTest {
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
 
         // Act
-        ProductDto.Response response = productService.getProduct(PRODUCT_ID);
+        ProductDto.Response response = productService.getProduct(TENANT_ID, PRODUCT_ID);
 
         // Assert
         assertThat(response.getName()).isEqualTo("Premium Product");
@@ -235,6 +256,102 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(PRODUCT_ID);
     }
 
+    @Test
+    @DisplayName("should serve repeated reads from the catalog")
+    void testGetProduct_ServedFromCatalog() {
+        // Arrange
+        Product product = Product.builder()
+                .tenantId(TENANT_ID)
+                .name(NAME)
+                .sku(SKU)
+                .price(new Money(PRICE, CURRENCY))
+                .inventoryCount(INVENTORY_COUNT)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+
+        // Act
+        productService.getProduct(TENANT_ID, PRODUCT_ID);
+        ProductDto.Response response = productService.getProduct(TENANT_ID, PRODUCT_ID);
+
+        // Assert
+        assertThat(response.getName()).isEqualTo(NAME);
+        assertThat(response.getInventoryCount()).isEqualTo(INVENTORY_COUNT);
+        verify(productRepository, times(1)).findById(PRODUCT_ID);
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("should not return another tenant's product from the catalog")
+    void testGetProduct_OtherTenant() {
+        // Arrange
+        Product product = Product.builder()
+                .tenantId("other-tenant")
+                .name(NAME)
+                .sku(SKU)
+                .price(new Money(PRICE, CURRENCY))
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getProduct(TENANT_ID, PRODUCT_ID))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Product not found");
+    }
+
+    // ========================= Update Product Tests =========================
+
+    @Test
+    @DisplayName("should update catalog details and drop the stale catalog entry once committed")
+    void testUpdateProduct_Success() {
+        // Arrange
+        Product product = Product.builder()
+                .tenantId(TENANT_ID)
+                .name(NAME)
+                .description(DESCRIPTION)
+                .sku(SKU)
+                .price(new Money(PRICE, CURRENCY))
+                .inventoryCount(INVENTORY_COUNT)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        ProductDto.UpdateRequest request = new ProductDto.UpdateRequest();
+        request.setName("Renamed Product");
+        request.setDescription(DESCRIPTION);
+        request.setPrice(new BigDecimal("79.99"));
+        request.setCurrency(CURRENCY);
+
+        when(productRepository.findByTenantIdAndId(TENANT_ID, PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productRepository.save(product)).thenReturn(product);
+
+        // Act
+        ProductDto.Response response = productService.updateProduct(TENANT_ID, PRODUCT_ID, request);
+
+        // Assert
+        assertThat(response.getName()).isEqualTo("Renamed Product");
+        assertThat(response.getPrice()).isEqualTo(new BigDecimal("79.99"));
+        assertThat(response.getInventoryCount()).isEqualTo(INVENTORY_COUNT);
+        assertThat((Collection<?>) ReflectionTestUtils.invokeMethod(product, "domainEvents"))
+                .singleElement().isInstanceOf(ProductChangedEvent.class);
+    }
+
+    @Test
+    @DisplayName("should reject an update to another tenant's or an unknown product")
+    void testUpdateProduct_NotFound() {
+        // Arrange
+        when(productRepository.findByTenantIdAndId(TENANT_ID, PRODUCT_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(TENANT_ID, PRODUCT_ID, new ProductDto.UpdateRequest()))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Product not found");
+
+        verify(productRepository, never()).save(any());
+    }
+
     // ========================= Get All Products Tests =========================
 
     @Test
@@ -270,10 +387,10 @@ class ProductServiceTest {
 
         List<Product> products = Arrays.asList(product1, product2, product3);
 
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(products);
 
         // Act
-        List<ProductDto.Response> responses = productService.getAllProducts();
+        List<ProductDto.Response> responses = productService.getAllProducts(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
@@ -283,23 +400,23 @@ class ProductServiceTest {
         assertThat(responses).extracting("inventoryCount")
                 .containsExactly(100, 200, 50);
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     @Test
     @DisplayName("should return empty list when no products exist")
     void testGetAllProducts_EmptyList() {
         // Arrange
-        when(productRepository.findAll()).thenReturn(Collections.emptyList());
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Collections.emptyList());
 
         // Act
-        List<ProductDto.Response> responses = productService.getAllProducts();
+        List<ProductDto.Response> responses = productService.getAllProducts(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
         assertThat(responses).isEmpty();
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     @Test
@@ -314,10 +431,10 @@ class ProductServiceTest {
                 .build();
         ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
 
-        when(productRepository.findAll()).thenReturn(Collections.singletonList(product));
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Collections.singletonList(product));
 
         // Act
-        List<ProductDto.Response> responses = productService.getAllProducts();
+        List<ProductDto.Response> responses = productService.getAllProducts(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).isNotNull();
@@ -325,7 +442,7 @@ class ProductServiceTest {
         assertThat(responses.get(0).getName()).isEqualTo(NAME);
         assertThat(responses.get(0).getSku()).isEqualTo(SKU);
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     @Test
@@ -352,10 +469,10 @@ class ProductServiceTest {
                 .build();
         ReflectionTestUtils.setField(product2, "id", PRODUCT_ID);
 
-        when(productRepository.findAll()).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Arrays.asList(product1, product2));
 
         // Act
-        List<ProductDto.Response> responses = productService.getAllProducts();
+        List<ProductDto.Response> responses = productService.getAllProducts(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).hasSize(2);
@@ -364,7 +481,55 @@ class ProductServiceTest {
         assertThat(responses.get(1).getPrice()).isEqualTo(new BigDecimal("200.00"));
         assertThat(responses.get(1).getCurrency()).isEqualTo("EUR");
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("should return a cursor when more rows exist and resume after it")
+    void testGetAllProducts_CursorRoundTrip() {
+        // Arrange
+        Product first = Product.builder()
+                .name("Product A")
+                .sku("SKU-A")
+                .price(new Money(new BigDecimal("100.00"), "USD"))
+                .inventoryCount(10)
+                .build();
+        ReflectionTestUtils.setField(first, "id", PRODUCT_ID);
+
+        Product second = Product.builder()
+                .name("Product B")
+                .sku("SKU-B")
+                .price(new Money(new BigDecimal("200.00"), "USD"))
+                .inventoryCount(20)
+                .build();
+        ReflectionTestUtils.setField(second, "id", UUID.randomUUID());
+
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Arrays.asList(first, second));
+        when(productRepository.findByTenantIdAndIdGreaterThanOrderByIdAsc(eq(TENANT_ID), any(UUID.class), any(Limit.class)))
+                .thenReturn(Collections.singletonList(second));
+
+        // Act
+        CursorPage<ProductDto.Response> page = productService.getAllProducts(TENANT_ID, null, 1);
+        CursorPage<ProductDto.Response> next = productService.getAllProducts(TENANT_ID, page.getNextCursor(), 1);
+
+        // Assert
+        assertThat(page.getItems()).extracting(ProductDto.Response::getSku).containsExactly("SKU-A");
+        assertThat(CursorPage.decode(page.getNextCursor())).isEqualTo(PRODUCT_ID);
+        assertThat(next.getItems()).extracting(ProductDto.Response::getSku).containsExactly("SKU-B");
+        assertThat(next.getNextCursor()).isNull();
+
+        verify(productRepository, times(1)).findByTenantIdAndIdGreaterThanOrderByIdAsc(eq(TENANT_ID), any(UUID.class), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("should throw DomainException for a malformed cursor")
+    void testGetAllProducts_InvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAllProducts(TENANT_ID, "not-a-cursor", null))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Invalid cursor");
+
+        verifyNoMoreInteractions(productRepository);
     }
 
     // ========================= Edge Cases and Exception Handling Tests =========================
@@ -456,17 +621,17 @@ class ProductServiceTest {
                 .build();
         ReflectionTestUtils.setField(gbpProduct, "id", PRODUCT_ID);
 
-        when(productRepository.findAll()).thenReturn(Arrays.asList(eurProduct, gbpProduct));
+        when(productRepository.findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class))).thenReturn(Arrays.asList(eurProduct, gbpProduct));
 
         // Act
-        List<ProductDto.Response> responses = productService.getAllProducts();
+        List<ProductDto.Response> responses = productService.getAllProducts(TENANT_ID, null, null).getItems();
 
         // Assert
         assertThat(responses).hasSize(2);
         assertThat(responses).extracting("currency")
                 .containsExactly("EUR", "GBP");
 
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findByTenantIdOrderByIdAsc(eq(TENANT_ID), any(Limit.class));
     }
 
     @Test
@@ -503,5 +668,71 @@ class ProductServiceTest {
         verify(productRepository).save(any(Product.class));
         verifyNoMoreInteractions(productRepository);
     }
-}
 
+    // ========================= Reserve Inventory Tests =========================
+
+    @Test
+    @DisplayName("should reserve regular products with a single conditional update")
+    void testReserveInventory_ColdProductsOnly() {
+        // Arrange
+        when(hotSkuInventoryLedger.isHot(PRODUCT_ID)).thenReturn(false);
+        when(productRepository.reserveInventory(Map.of(PRODUCT_ID, 3))).thenReturn(true);
+
+        // Act
+        boolean reserved = productService.reserveInventory(Map.of(PRODUCT_ID, 3));
+
+        // Assert
+        assertThat(reserved).isTrue();
+        verify(hotSkuInventoryLedger, never()).reserve(any());
+    }
+
+    @Test
+    @DisplayName("should serve hot SKUs from the in-memory ledger")
+    void testReserveInventory_HotProducts() {
+        // Arrange
+        UUID hotProductId = UUID.randomUUID();
+        when(hotSkuInventoryLedger.isHot(PRODUCT_ID)).thenReturn(false);
+        when(hotSkuInventoryLedger.isHot(hotProductId)).thenReturn(true);
+        when(productRepository.reserveInventory(Map.of(PRODUCT_ID, 1))).thenReturn(true);
+        when(hotSkuInventoryLedger.reserve(Map.of(hotProductId, 2))).thenReturn(true);
+
+        // Act
+        boolean reserved = productService.reserveInventory(Map.of(PRODUCT_ID, 1, hotProductId, 2));
+
+        // Assert
+        assertThat(reserved).isTrue();
+        verify(hotSkuInventoryLedger).reserve(Map.of(hotProductId, 2));
+    }
+
+    @Test
+    @DisplayName("should not touch the ledger when regular products are out of stock")
+    void testReserveInventory_ColdProductsInsufficient() {
+        // Arrange
+        UUID hotProductId = UUID.randomUUID();
+        when(hotSkuInventoryLedger.isHot(PRODUCT_ID)).thenReturn(false);
+        when(hotSkuInventoryLedger.isHot(hotProductId)).thenReturn(true);
+        when(productRepository.reserveInventory(Map.of(PRODUCT_ID, 1))).thenReturn(false);
+
+        // Act
+        boolean reserved = productService.reserveInventory(Map.of(PRODUCT_ID, 1, hotProductId, 2));
+
+        // Assert
+        assertThat(reserved).isFalse();
+        verify(hotSkuInventoryLedger, never()).reserve(any());
+    }
+
+    @Test
+    @DisplayName("should report failure when the ledger cannot grant a hot SKU")
+    void testReserveInventory_HotProductsInsufficient() {
+        // Arrange
+        when(hotSkuInventoryLedger.isHot(PRODUCT_ID)).thenReturn(true);
+        when(productRepository.reserveInventory(Map.of())).thenReturn(true);
+        when(hotSkuInventoryLedger.reserve(Map.of(PRODUCT_ID, 5))).thenReturn(false);
+
+        // Act
+        boolean reserved = productService.reserveInventory(Map.of(PRODUCT_ID, 5));
+
+        // Assert
+        assertThat(reserved).isFalse();
+    }
+}
@@ -0,0 +1,175 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import code.with.vanilson.market.products.domain.Product;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs several ledgers against one database, as separate nodes would, and checks that together they
+ * never sell more than the {@code products} row held, and that a crashed node's unsold lease is
+ * returned exactly once.
+ */
+class HotSkuInventoryLedgerIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int STOCK = 500;
+    private static final int LEASE_SIZE = 40;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("two nodes should together sell exactly the stock and no more")
+    void twoNodesNeverOversell() throws Exception {
+        Product product = seedProduct(STOCK);
+        HotSkuInventoryLedger first = node(product, "first.log");
+        HotSkuInventoryLedger second = node(product, "second.log");
+        List<HotSkuInventoryLedger> nodes = List.of(first, second);
+
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger attempt = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int t = 0; t < 16; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    HotSkuInventoryLedger node = nodes.get(attempt.getAndIncrement() % 2);
+                    if (reserve(node, product.getId(), 1)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        // Whatever each node still holds can only be sold by that node
+        for (HotSkuInventoryLedger node : nodes) {
+            while (reserve(node, product.getId(), 1)) {
+                granted.incrementAndGet();
+            }
+        }
+
+        assertThat(granted).hasValue(STOCK);
+        first.shutdown();
+        second.shutdown();
+        assertThat(inventory(product)).isZero();
+    }
+
+    @Test
+    @DisplayName("stock should return to Postgres when the nodes shut down")
+    void shutdownReturnsUnsoldLeases() throws Exception {
+        Product product = seedProduct(STOCK);
+        HotSkuInventoryLedger node = node(product, "node.log");
+
+        assertThat(inventory(product)).isEqualTo(STOCK - LEASE_SIZE);
+        assertThat(reserve(node, product.getId(), 3)).isTrue();
+        node.shutdown();
+
+        assertThat(inventory(product)).isEqualTo(STOCK - 3);
+        assertThat(tempDir.resolve("node.log")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("a rolled back order should hand its units back to the node")
+    void rollbackReleasesUnits() throws Exception {
+        Product product = seedProduct(LEASE_SIZE);
+        HotSkuInventoryLedger node = node(product, "node.log");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(node.reserve(Map.of(product.getId(), LEASE_SIZE))).isTrue();
+            status.setRollbackOnly();
+        });
+
+        assertThat(reserve(node, product.getId(), LEASE_SIZE)).isTrue();
+        assertThat(reserve(node, product.getId(), 1)).isFalse();
+        node.shutdown();
+    }
+
+    @Test
+    @DisplayName("a restarted node should return the unsold part of a crashed node's lease once")
+    void crashRecoveryReturnsUnsoldLease() throws Exception {
+        Product product = seedProduct(STOCK);
+        HotSkuInventoryLedger crashed = node(product, "node.log");
+
+        assertThat(reserve(crashed, product.getId(), 5)).isTrue();
+        crashed.reconcile();
+        assertThat(Files.readAllLines(tempDir.resolve("node.log"))).hasSize(1);
+        assertThat(reserve(crashed, product.getId(), 7)).isTrue();
+        crash(crashed);
+
+        HotSkuInventoryLedger restarted = node(product, "node.log");
+        assertThat(inventory(product)).isEqualTo(STOCK - 12 - LEASE_SIZE);
+        restarted.shutdown();
+        assertThat(inventory(product)).isEqualTo(STOCK - 12);
+
+        // Nothing is left to replay, so a second start must not return the lease again
+        HotSkuInventoryLedger again = node(product, "node.log");
+        again.shutdown();
+        assertThat(inventory(product)).isEqualTo(STOCK - 12);
+    }
+
+    private HotSkuInventoryLedger node(Product product, String log) throws Exception {
+        HotSkuInventoryLedger ledger = new HotSkuInventoryLedger(jdbcTemplate, transactionTemplate,
+                List.of(product.getSku()), tempDir.resolve(log).toString(), LEASE_SIZE);
+        ledger.start();
+        return ledger;
+    }
+
+    private boolean reserve(HotSkuInventoryLedger node, UUID productId, int quantity) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> node.reserve(Map.of(productId, quantity))));
+    }
+
+    private static void crash(HotSkuInventoryLedger node) throws Exception {
+        ((FileChannel) ReflectionTestUtils.getField(node, "journal")).close();
+    }
+
+    private Product seedProduct(int stock) {
+        return productRepository.save(Product.builder()
+                .tenantId("ledger-tenant")
+                .name("Flash Sale Item")
+                .sku("LEDGER-" + UUID.randomUUID())
+                .price(new Money(new BigDecimal("9.99"), "USD"))
+                .inventoryCount(stock)
+                .build());
+    }
+
+    private int inventory(Product product) {
+        return jdbcTemplate.queryForObject("SELECT inventory_count FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+}
@@ -0,0 +1,160 @@
+package code.with.vanilson.market.products.infrastructure;
+
+import code.with.vanilson.market.products.domain.CatalogEntry;
+import code.with.vanilson.market.products.domain.Product;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCatalog Tests")
+class ProductCatalogTest {
+
+    private static final String TENANT_ID = "tenant-1";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void setUp() {
+        productCatalog = new ProductCatalog(productRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(), 100, 100, 60, 60_000);
+    }
+
+    // ===== Lookup Tests =====
+
+    @Test
+    @DisplayName("Should answer a SKU lookup from an entry loaded by id")
+    void testFindBySku_IndexedFromIdLoad() {
+        // Arrange
+        Product product = product("SKU-1", 5);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        productCatalog.get(product.getId());
+
+        // Act
+        Optional<CatalogEntry> entry = productCatalog.findBySku("SKU-1");
+
+        // Assert
+        assertThat(entry).map(CatalogEntry::id).contains(product.getId());
+        verify(productRepository, never()).findBySku(any());
+    }
+
+    @Test
+    @DisplayName("Should load only the ids missing from the catalog")
+    void testGetAll_LoadsMissesInOneQuery() {
+        // Arrange
+        Product cached = product("SKU-1", 5);
+        Product missing = product("SKU-2", 5);
+        UUID unknown = UUID.randomUUID();
+        when(productRepository.findById(cached.getId())).thenReturn(Optional.of(cached));
+        when(productRepository.findAllById(argThat(sameIds(missing.getId(), unknown)))).thenReturn(List.of(missing));
+        productCatalog.get(cached.getId());
+
+        // Act
+        Map<UUID, CatalogEntry> entries = productCatalog.getAll(List.of(cached.getId(), missing.getId(), unknown));
+
+        // Assert
+        assertThat(entries).containsOnlyKeys(cached.getId(), missing.getId());
+        verify(productRepository, times(1)).findAllById(argThat(sameIds(missing.getId(), unknown)));
+    }
+
+    @Test
+    @DisplayName("Should serve stock from the separate inventory cache")
+    void testInventoryCount_PrimedByLoad() {
+        // Arrange
+        Product product = product("SKU-1", 42);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        productCatalog.get(product.getId());
+
+        // Act & Assert
+        assertThat(productCatalog.inventoryCount(product.getId())).contains(42);
+        verify(productRepository, never()).findInventoryCountById(any());
+    }
+
+    // ===== Invalidation Tests =====
+
+    @Test
+    @DisplayName("Should reload an evicted product and drop its SKU index")
+    void testEvict_ReloadsOnNextRead() {
+        // Arrange
+        Product product = product("SKU-1", 5);
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.findBySku("SKU-1")).thenReturn(Optional.of(product));
+        productCatalog.get(product.getId());
+
+        // Act
+        productCatalog.evict(product.getId());
+        productCatalog.findBySku("SKU-1");
+        productCatalog.get(product.getId());
+
+        // Assert
+        verify(productRepository, times(1)).findBySku("SKU-1");
+        verify(productRepository, times(1)).findById(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should warm the catalog page by page on startup")
+    void testWarm_LoadsAllPages() {
+        // Arrange
+        Product product = product("SKU-1", 5);
+        when(productRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of(product));
+
+        // Act
+        productCatalog.warm();
+
+        // Assert
+        assertThat(productCatalog.get(product.getId())).isPresent();
+        verify(productRepository, never()).findById(any());
+    }
+
+    // The misses arrive in no particular order
+    private static ArgumentMatcher<Iterable<UUID>> sameIds(UUID... ids) {
+        return actual -> {
+            Set<UUID> seen = new HashSet<>();
+            actual.forEach(seen::add);
+            return seen.equals(Set.of(ids));
+        };
+    }
+
+    private static Product product(String sku, int inventoryCount) {
+        Product product = Product.builder()
+                .tenantId(TENANT_ID)
+                .name("Product " + sku)
+                .sku(sku)
+                .price(new Money(new BigDecimal("10.00"), "USD"))
+                .inventoryCount(inventoryCount)
+                .build();
+        ReflectionTestUtils.setField(product, "id", UUID.randomUUID());
+        return product;
+    }
+}
@@ -0,0 +1,206 @@
+package code.with.vanilson.market.promotions.application;
+
+import code.with.vanilson.market.promotions.domain.Coupon;
+import code.with.vanilson.market.promotions.domain.CouponRedemptionRepository;
+import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
+import code.with.vanilson.market.shared.domain.DomainException;
+import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Redeems one code from many threads at once and checks that the caps hold exactly: every slot is
+ * handed out, none twice, and slots taken by transactions that roll back become available again.
+ */
+class CouponRedemptionIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CouponRedemptionService couponRedemptionService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponRedemptionRepository redemptionRepository;
+
+    @Autowired
+    private CouponIndex couponIndex;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("concurrent redemptions of one code should stop exactly at the global cap")
+    void concurrentRedemptionsStopAtCap() throws Exception {
+        CouponIndex.Entry coupon = issue(50, null);
+
+        AtomicInteger redeemed = redeemConcurrently(coupon, 500, i -> UUID.randomUUID());
+
+        assertThat(redeemed).hasValue(50);
+        assertThat(redemptionRepository.countByCouponId(coupon.id())).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("a customer should not redeem more than the per-customer cap")
+    void perCustomerCapHolds() throws Exception {
+        CouponIndex.Entry coupon = issue(null, 2);
+        UUID customerId = UUID.randomUUID();
+
+        AtomicInteger redeemed = redeemConcurrently(coupon, 100, i -> i % 2 == 0 ? customerId : UUID.randomUUID());
+
+        assertThat(redemptionRepository.countByCouponIdAndCustomerId(coupon.id(), customerId)).isEqualTo(2);
+        assertThat(redeemed).hasValue(52);
+    }
+
+    @Test
+    @DisplayName("a rolled back redemption should hand its slot back")
+    void rollbackReleasesSlot() {
+        CouponIndex.Entry coupon = issue(1, null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID());
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID())))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Coupon redemption limit reached");
+        assertThat(redemptionRepository.countByCouponId(coupon.id())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("counters lost from Redis should be re-seeded from the redemption log")
+    void lostCountersAreReseeded() {
+        CouponIndex.Entry coupon = issue(2, null);
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status ->
+                    couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID()));
+        }
+        redisTemplate.delete(redisTemplate.keys("coupon-redemptions:{" + coupon.id() + "}:*"));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID())))
+                .isInstanceOf(DomainException.class);
+        assertThat(redemptionRepository.countByCouponId(coupon.id())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a slot held while its counter is re-seeded should not be handed back to the new counter")
+    void rollbackAfterReseedKeepsCap() {
+        CouponIndex.Entry coupon = issue(1, null);
+        TransactionTemplate independent = new TransactionTemplate(transactionManager);
+        independent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID());
+            // The counter is lost while the slot is in flight; the re-seed cannot see the uncommitted row
+            redisTemplate.delete("coupon-redemptions:{" + coupon.id() + "}:total");
+            independent.executeWithoutResult(inner ->
+                    couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID()));
+            status.setRollbackOnly();
+        });
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID())))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Coupon redemption limit reached");
+        assertThat(redemptionRepository.countByCouponId(coupon.id())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a slot committed after its counter was re-seeded should still be counted")
+    void commitAfterReseedIsCounted() {
+        CouponIndex.Entry coupon = issue(2, null);
+        TransactionTemplate independent = new TransactionTemplate(transactionManager);
+        independent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID());
+            redisTemplate.delete("coupon-redemptions:{" + coupon.id() + "}:total");
+            independent.executeWithoutResult(inner ->
+                    couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID()));
+        });
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                couponRedemptionService.redeem(coupon, UUID.randomUUID(), UUID.randomUUID())))
+                .isInstanceOf(DomainException.class);
+        assertThat(redemptionRepository.countByCouponId(coupon.id())).isEqualTo(2);
+    }
+
+    private CouponIndex.Entry issue(Integer maxRedemptions, Integer maxRedemptionsPerCustomer) {
+        String code = "CAP-" + UUID.randomUUID();
+        Coupon coupon = Coupon.builder()
+                .tenantId("promo-tenant")
+                .code(code)
+                .discount(new Money(new BigDecimal("5.00"), "USD"))
+                .expiryDate(Instant.now().plusSeconds(3600))
+                .maxRedemptions(maxRedemptions)
+                .maxRedemptionsPerCustomer(maxRedemptionsPerCustomer)
+                .build();
+        couponRepository.save(coupon);
+        couponIndex.refresh(code);
+        return couponIndex.findByCode(code).orElseThrow();
+    }
+
+    private AtomicInteger redeemConcurrently(CouponIndex.Entry coupon, int attempts,
+                                             IntFunction<UUID> customers) throws Exception {
+        AtomicInteger redeemed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            UUID customerId = customers.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            couponRedemptionService.redeem(coupon, customerId, UUID.randomUUID()));
+                    redeemed.incrementAndGet();
+                } catch (DomainException e) {
+                    // Over the cap
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return redeemed;
+    }
+}
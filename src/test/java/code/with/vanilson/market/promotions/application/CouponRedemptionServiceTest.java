@@ -0,0 +1,128 @@
+package code.with.vanilson.market.promotions.application;
+
+import code.with.vanilson.market.events.domain.EventProducer;
+import code.with.vanilson.market.promotions.domain.CouponRedemption;
+import code.with.vanilson.market.promotions.domain.CouponRedemptionRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
+import code.with.vanilson.market.promotions.infrastructure.CouponRedemptionCounters;
+import code.with.vanilson.market.shared.domain.CouponRedeemedEvent;
+import code.with.vanilson.market.shared.domain.DomainException;
+import code.with.vanilson.market.shared.domain.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CouponRedemptionService Unit Tests")
+class CouponRedemptionServiceTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Mock
+    private CouponRedemptionRepository redemptionRepository;
+
+    @Mock
+    private CouponRedemptionCounters redemptionCounters;
+
+    @Mock
+    private EventProducer eventProducer;
+
+    @InjectMocks
+    private CouponRedemptionService couponRedemptionService;
+
+    // ===== Redeem Tests =====
+
+    @Test
+    @DisplayName("Should record the redemption and publish it keyed by coupon")
+    void testRedeem_Success() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, 1);
+        when(redemptionCounters.acquire(coupon, CUSTOMER_ID, ORDER_ID)).thenReturn(CouponRedemptionCounters.Outcome.ACQUIRED);
+
+        // Act
+        couponRedemptionService.redeem(coupon, CUSTOMER_ID, ORDER_ID);
+
+        // Assert
+        ArgumentCaptor<CouponRedemption> redemption = ArgumentCaptor.forClass(CouponRedemption.class);
+        verify(redemptionRepository).save(redemption.capture());
+        assertThat(redemption.getValue().getCouponId()).isEqualTo(coupon.id());
+        assertThat(redemption.getValue().getOrderId()).isEqualTo(ORDER_ID);
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventProducer).publish(eq("promotions.redeemed"), event.capture());
+        CouponRedeemedEvent published = (CouponRedeemedEvent) event.getValue();
+        assertThat(published.aggregateId()).isEqualTo(coupon.id());
+        assertThat(published.getCustomerId()).isEqualTo(CUSTOMER_ID);
+        assertThat(published.getDiscountAmount()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    @DisplayName("Should reject the redemption once the global cap is reached")
+    void testRedeem_TotalExhausted() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, null);
+        when(redemptionCounters.acquire(coupon, CUSTOMER_ID, ORDER_ID))
+                .thenReturn(CouponRedemptionCounters.Outcome.TOTAL_EXHAUSTED);
+
+        // Act & Assert
+        assertThatThrownBy(() -> couponRedemptionService.redeem(coupon, CUSTOMER_ID, ORDER_ID))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Coupon redemption limit reached");
+        verify(redemptionRepository, never()).save(any());
+        verify(eventProducer, never()).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject the redemption once the customer's cap is reached")
+    void testRedeem_CustomerExhausted() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(null, 1);
+        when(redemptionCounters.acquire(coupon, CUSTOMER_ID, ORDER_ID))
+                .thenReturn(CouponRedemptionCounters.Outcome.CUSTOMER_EXHAUSTED);
+
+        // Act & Assert
+        assertThatThrownBy(() -> couponRedemptionService.redeem(coupon, CUSTOMER_ID, ORDER_ID))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("this customer");
+        verify(redemptionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the counters for a coupon without caps")
+    void testRedeem_Unlimited() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(null, null);
+
+        // Act
+        couponRedemptionService.redeem(coupon, CUSTOMER_ID, ORDER_ID);
+
+        // Assert
+        verifyNoInteractions(redemptionCounters);
+        verify(redemptionRepository).save(any(CouponRedemption.class));
+        verify(eventProducer).publish(anyString(), any());
+    }
+
+    private static CouponIndex.Entry coupon(Integer maxRedemptions, Integer maxRedemptionsPerCustomer) {
+        return new CouponIndex.Entry(UUID.randomUUID(), "SAVE20", new Money(new BigDecimal("20.00"), "USD"),
+                Instant.now().plusSeconds(3600), true, maxRedemptions, maxRedemptionsPerCustomer);
+    }
+}
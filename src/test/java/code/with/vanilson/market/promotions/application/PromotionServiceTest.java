@@ -3,14 +3,19 @@ package code.with.vanilson.market.promotions.application;
 import code.with.vanilson.market.promotions.api.PromotionDto;
 import code.with.vanilson.market.promotions.domain.Coupon;
 import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.promotions.infrastructure.CouponIndex;
 import code.with.vanilson.market.shared.domain.DomainException;
 import code.with.vanilson.market.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -23,6 +28,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -36,7 +42,6 @@ class PromotionServiceTest {
     @Mock
     private CouponRepository couponRepository;
 
-    @InjectMocks
     private PromotionService promotionService;
 
     private static final UUID COUPON_ID = UUID.randomUUID();
@@ -45,6 +50,13 @@ class PromotionServiceTest {
     private static final String CURRENCY = "USD";
     private static final Instant EXPIRY_DATE = Instant.now().plusSeconds(86400 * 30);
 
+    @BeforeEach
+    void setUp() {
+        CouponIndex couponIndex = new CouponIndex(couponRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(), 100, 100, 60);
+        promotionService = new PromotionService(couponRepository, couponIndex);
+    }
+
     // ========================= Create Coupon Tests =========================
 
     @Test
@@ -110,6 +122,37 @@ class PromotionServiceTest {
         verify(couponRepository, never()).save(any(Coupon.class));
     }
 
+    @Test
+    @DisplayName("should store the redemption caps given on the request")
+    void testCreateCoupon_WithRedemptionLimits() {
+        // Arrange
+        PromotionDto.CreateCouponRequest request = new PromotionDto.CreateCouponRequest();
+        request.setCode(COUPON_CODE);
+        request.setDiscountAmount(DISCOUNT_AMOUNT);
+        request.setCurrency(CURRENCY);
+        request.setExpiryDate(EXPIRY_DATE);
+        request.setMaxRedemptions(1000);
+        request.setMaxRedemptionsPerCustomer(1);
+
+        when(couponRepository.findByCode(COUPON_CODE)).thenReturn(Optional.empty());
+        when(couponRepository.save(any(Coupon.class))).thenAnswer(invocation -> {
+            Coupon coupon = invocation.getArgument(0);
+            ReflectionTestUtils.setField(coupon, "id", COUPON_ID);
+            return coupon;
+        });
+
+        // Act
+        PromotionDto.Response response = promotionService.createCoupon(request);
+
+        // Assert
+        ArgumentCaptor<Coupon> saved = ArgumentCaptor.forClass(Coupon.class);
+        verify(couponRepository).save(saved.capture());
+        assertThat(saved.getValue().getMaxRedemptions()).isEqualTo(1000);
+        assertThat(saved.getValue().getMaxRedemptionsPerCustomer()).isEqualTo(1);
+        assertThat(response.getMaxRedemptions()).isEqualTo(1000);
+        assertThat(response.getMaxRedemptionsPerCustomer()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("should successfully create coupon with small discount")
     void testCreateCoupon_SmallDiscount() {
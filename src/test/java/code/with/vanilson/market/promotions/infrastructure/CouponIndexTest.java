@@ -0,0 +1,183 @@
+package code.with.vanilson.market.promotions.infrastructure;
+
+import code.with.vanilson.market.promotions.domain.Coupon;
+import code.with.vanilson.market.promotions.domain.CouponRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CouponIndex Tests")
+class CouponIndexTest {
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CouponIndex couponIndex;
+
+    @BeforeEach
+    void setUp() {
+        couponIndex = new CouponIndex(couponRepository, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), 10, 100, 60);
+    }
+
+    // ===== Lookup Tests =====
+
+    @Test
+    @DisplayName("Should reject unknown codes without a query once the index is loaded")
+    void testFindByCode_UnknownAfterReload() {
+        // Arrange
+        Coupon coupon = coupon("SAVE20", Instant.now().plusSeconds(3600), true);
+        when(couponRepository.count()).thenReturn(1L);
+        when(couponRepository.findAll()).thenReturn(List.of(coupon));
+        couponIndex.reload();
+
+        // Act & Assert
+        assertThat(couponIndex.findByCode("SAVE20")).map(CouponIndex.Entry::id).contains(coupon.getId());
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(couponIndex.findByCode("GUESS" + i)).isEmpty();
+        }
+        verify(couponRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should query an unknown code once while the index is not loaded")
+    void testFindByCode_NegativeCacheBeforeReload() {
+        // Arrange
+        when(couponRepository.findByCode("NOPE")).thenReturn(Optional.empty());
+
+        // Act
+        couponIndex.findByCode("NOPE");
+        Optional<CouponIndex.Entry> second = couponIndex.findByCode("NOPE");
+
+        // Assert
+        assertThat(second).isEmpty();
+        verify(couponRepository, times(1)).findByCode("NOPE");
+    }
+
+    @Test
+    @DisplayName("Should read through when there are more coupons than the index holds")
+    void testReload_TooManyCoupons() {
+        // Arrange
+        when(couponRepository.count()).thenReturn(11L);
+        when(couponRepository.findByCode("SAVE20")).thenReturn(Optional.empty());
+
+        // Act
+        couponIndex.reload();
+        couponIndex.findByCode("SAVE20");
+
+        // Assert
+        verify(couponRepository, never()).findAll();
+        verify(couponRepository, times(1)).findByCode("SAVE20");
+    }
+
+    @Test
+    @DisplayName("Should drop entries from an earlier load once there are too many coupons to index")
+    void testReload_TooManyCouponsClearsEntries() {
+        // Arrange
+        Coupon coupon = coupon("SAVE20", null, true);
+        when(couponRepository.count()).thenReturn(1L, 11L);
+        when(couponRepository.findAll()).thenReturn(List.of(coupon));
+        couponIndex.reload();
+        when(couponRepository.findByCode("SAVE20")).thenReturn(Optional.empty());
+
+        // Act
+        couponIndex.reload();
+
+        // Assert
+        assertThat(couponIndex.findByCode("SAVE20")).isEmpty();
+        verify(couponRepository, times(1)).findByCode("SAVE20");
+    }
+
+    // ===== Refresh Tests =====
+
+    @Test
+    @DisplayName("Should keep an indexed coupon when a refresh does not find it")
+    void testRefresh_MissKeepsEntry() {
+        // Arrange
+        Coupon coupon = coupon("SAVE20", null, true);
+        when(couponRepository.count()).thenReturn(1L);
+        when(couponRepository.findAll()).thenReturn(List.of(coupon));
+        couponIndex.reload();
+        when(couponRepository.findByCode("SAVE20")).thenReturn(Optional.empty());
+
+        // Act
+        couponIndex.refresh("SAVE20");
+
+        // Assert
+        assertThat(couponIndex.findByCode("SAVE20")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should add a new coupon and forget it was unknown")
+    void testRefresh_AddsNewCoupon() {
+        // Arrange
+        Coupon coupon = coupon("NEW10", null, true);
+        when(couponRepository.findByCode("NEW10")).thenReturn(Optional.empty(), Optional.of(coupon));
+        couponIndex.findByCode("NEW10");
+
+        // Act
+        couponIndex.refresh("NEW10");
+
+        // Assert
+        assertThat(couponIndex.findByCode("NEW10")).isPresent();
+        verify(couponRepository, times(2)).findByCode("NEW10");
+    }
+
+    // ===== Validity Tests =====
+
+    @Test
+    @DisplayName("Should check expiry against the last clock tick")
+    void testIsValid_UsesClockTick() throws InterruptedException {
+        // Arrange
+        CouponIndex.Entry entry = CouponIndex.Entry.of(coupon("SOON", Instant.now().plusMillis(50), true));
+        Thread.sleep(100);
+
+        // Act & Assert
+        assertThat(couponIndex.isValid(entry)).isTrue();
+        couponIndex.tick();
+        assertThat(couponIndex.isValid(entry)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat inactive coupons as invalid")
+    void testIsValid_Inactive() {
+        // Act & Assert
+        assertThat(couponIndex.isValid(CouponIndex.Entry.of(coupon("OFF", null, false)))).isFalse();
+    }
+
+    private static Coupon coupon(String code, Instant expiryDate, boolean active) {
+        Coupon coupon = Coupon.builder()
+                .code(code)
+                .discount(new Money(new BigDecimal("20.00"), "USD"))
+                .expiryDate(expiryDate)
+                .active(active)
+                .build();
+        ReflectionTestUtils.setField(coupon, "id", UUID.randomUUID());
+        return coupon;
+    }
+}
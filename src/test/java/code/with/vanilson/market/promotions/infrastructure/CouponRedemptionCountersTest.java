@@ -0,0 +1,182 @@
+package code.with.vanilson.market.promotions.infrastructure;
+
+import code.with.vanilson.market.promotions.domain.CouponRedemptionRepository;
+import code.with.vanilson.market.shared.domain.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CouponRedemptionCounters Tests")
+class CouponRedemptionCountersTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CouponRedemptionRepository redemptionRepository;
+
+    private CouponRedemptionCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new CouponRedemptionCounters(redisTemplate, redemptionRepository, 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ===== Acquire Tests =====
+
+    @Test
+    @DisplayName("Should take a slot when the script grants one")
+    void testAcquire_Granted() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, 1);
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act & Assert
+        assertThat(counters.acquire(coupon, CUSTOMER_ID, ORDER_ID)).isEqualTo(CouponRedemptionCounters.Outcome.ACQUIRED);
+        verify(redemptionRepository, never()).countByCouponId(any());
+    }
+
+    @Test
+    @DisplayName("Should report which cap turned the redemption away")
+    void testAcquire_Exhausted() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, 1);
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class)))
+                .thenReturn(0L, -1L);
+
+        // Act & Assert
+        assertThat(counters.acquire(coupon, CUSTOMER_ID, ORDER_ID))
+                .isEqualTo(CouponRedemptionCounters.Outcome.TOTAL_EXHAUSTED);
+        assertThat(counters.acquire(coupon, CUSTOMER_ID, ORDER_ID))
+                .isEqualTo(CouponRedemptionCounters.Outcome.CUSTOMER_EXHAUSTED);
+    }
+
+    @Test
+    @DisplayName("Should seed missing counters from the redemption log and retry")
+    void testAcquire_SeedsMissingCounters() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, 2);
+        List<String> keys = CouponRedemptionCounters.keys(coupon.id(), CUSTOMER_ID);
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class)))
+                .thenReturn(-2L, -3L, 1L);
+        when(redemptionRepository.countByCouponId(coupon.id())).thenReturn(42L);
+        when(redemptionRepository.countByCouponIdAndCustomerId(coupon.id(), CUSTOMER_ID)).thenReturn(1L);
+
+        // Act
+        CouponRedemptionCounters.Outcome outcome = counters.acquire(coupon, CUSTOMER_ID, ORDER_ID);
+
+        // Assert
+        assertThat(outcome).isEqualTo(CouponRedemptionCounters.Outcome.ACQUIRED);
+        verify(redisTemplate).execute(CouponRedemptionCounters.SEED, List.of(keys.get(0), keys.get(2)), "42", "0");
+        verify(redisTemplate).execute(CouponRedemptionCounters.SEED, List.of(keys.get(1), keys.get(3)), "1",
+                String.valueOf(Duration.ofSeconds(3600).toMillis()));
+    }
+
+    @Test
+    @DisplayName("Should not hold a slot outside a transaction, since nothing could hand it back")
+    void testAcquire_NoHoldOutsideTransaction() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, null);
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act
+        counters.acquire(coupon, CUSTOMER_ID, ORDER_ID);
+
+        // Assert
+        verify(redisTemplate).execute(CouponRedemptionCounters.ACQUIRE,
+                CouponRedemptionCounters.keys(coupon.id(), CUSTOMER_ID), "100", "-1", "3600000", "");
+    }
+
+    @Test
+    @DisplayName("Should keep both counters of a coupon in one cluster slot")
+    void testKeys_ShareHashTag() {
+        // Arrange
+        UUID couponId = UUID.randomUUID();
+
+        // Act
+        List<String> keys = CouponRedemptionCounters.keys(couponId, CUSTOMER_ID);
+
+        // Assert
+        assertThat(keys).allSatisfy(key -> assertThat(key).contains("{" + couponId + "}"));
+    }
+
+    // ===== Release Tests =====
+
+    @Test
+    @DisplayName("Should hand the slot back when the transaction rolls back")
+    void testAcquire_ReleasedOnRollback() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, null);
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act
+        counters.acquire(coupon, CUSTOMER_ID, ORDER_ID);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        verify(redisTemplate).execute(CouponRedemptionCounters.ACQUIRE,
+                CouponRedemptionCounters.keys(coupon.id(), CUSTOMER_ID), "100", "-1", "3600000", ORDER_ID.toString());
+        verify(redisTemplate).execute(CouponRedemptionCounters.RELEASE,
+                CouponRedemptionCounters.keys(coupon.id(), CUSTOMER_ID), ORDER_ID.toString());
+    }
+
+    @Test
+    @DisplayName("Should keep the slot when the transaction commits")
+    void testAcquire_KeptOnCommit() {
+        // Arrange
+        CouponIndex.Entry coupon = coupon(100, null);
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(eq(CouponRedemptionCounters.ACQUIRE), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act
+        counters.acquire(coupon, CUSTOMER_ID, ORDER_ID);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Assert
+        verify(redisTemplate, never()).execute(eq(CouponRedemptionCounters.RELEASE), anyList(), any(Object[].class));
+        verify(redisTemplate).execute(CouponRedemptionCounters.SETTLE,
+                CouponRedemptionCounters.keys(coupon.id(), CUSTOMER_ID), ORDER_ID.toString(), "100", "-1");
+    }
+
+    private static CouponIndex.Entry coupon(Integer maxRedemptions, Integer maxRedemptionsPerCustomer) {
+        return new CouponIndex.Entry(UUID.randomUUID(), "SAVE20", new Money(new BigDecimal("20.00"), "USD"),
+                Instant.now().plusSeconds(3600), true, maxRedemptions, maxRedemptionsPerCustomer);
+    }
+}
@@ -0,0 +1,297 @@
+package code.with.vanilson.market.shared.infrastructure;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private static final String REQUEST_BODY = "{\"customerId\":\"c-1\"}";
+    private static final String RESPONSE_BODY = "{\"id\":\"42\",\"status\":\"PLACED\"}";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter filter;
+    private MockHttpServletRequest request;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(redisTemplate, 256, 1024, 200, 10);
+        request = keyedRequest("t1", REQUEST_BODY);
+        key = IdempotencyFilter.redisKey(request, "key-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ===== Key Scoping Tests =====
+
+    @Test
+    @DisplayName("should scope the Redis key by tenant, principal, method and URI")
+    void testRedisKey_Scoped() {
+        // Arrange
+        MockHttpServletRequest otherTenant = keyedRequest("t2", REQUEST_BODY);
+        MockHttpServletRequest otherMethod = keyedRequest("t1", REQUEST_BODY);
+        otherMethod.setMethod("PUT");
+
+        // Act
+        String anonymousKey = IdempotencyFilter.redisKey(request, "key-1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+        String userKey = IdempotencyFilter.redisKey(request, "key-1");
+
+        // Assert
+        assertThat(anonymousKey).startsWith("idempotency:t1:");
+        assertThat(IdempotencyFilter.redisKey(otherTenant, "key-1")).startsWith("idempotency:t2:");
+        assertThat(List.of(userKey, IdempotencyFilter.redisKey(otherMethod, "key-1"),
+                IdempotencyFilter.redisKey(request, "key-2"))).doesNotContain(anonymousKey).doesNotHaveDuplicates();
+    }
+
+    // ===== First Request Tests =====
+
+    @Test
+    @DisplayName("should claim the key and store the completed response with the body hash")
+    void testFirstRequest_StoresResponse() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any())).thenReturn(null);
+        when(redisTemplate.execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), any(), any(), any()))
+                .thenReturn(1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ArgumentCaptor<Object> stored = ArgumentCaptor.forClass(Object.class);
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(REQUEST_BODY);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, "orderController");
+            writeOrder((HttpServletResponse) res);
+        });
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo(RESPONSE_BODY);
+        verify(redisTemplate).execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), anyString(),
+                stored.capture(), eq(String.valueOf(24 * 60 * 60 * 1000L)));
+        String[] parts = ((String) stored.getValue()).split("\\|", 3);
+        assertThat(parts[0]).isEqualTo(IdempotencyFilter.DONE);
+        assertThat(parts[1]).isEqualTo(sha256(REQUEST_BODY));
+        assertThat(StoredResponse.decode(parts[2]).status()).isEqualTo(201);
+    }
+
+    @Test
+    @DisplayName("should release the key when the response is a server error")
+    void testFirstRequest_ServerErrorReleasesKey() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any())).thenReturn(null);
+        when(redisTemplate.execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), any(), any(), any()))
+                .thenReturn(1L);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(503));
+
+        // Assert
+        verify(redisTemplate).execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), anyString(), eq(""), any());
+    }
+
+    @Test
+    @DisplayName("should release the key when the handler rejects the request with 429")
+    void testFirstRequest_TooManyRequestsReleasesKey() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any())).thenReturn(null);
+        when(redisTemplate.execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), any(), any(), any()))
+                .thenReturn(1L);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, "authController");
+            ((HttpServletResponse) res).setStatus(429);
+        });
+
+        // Assert
+        verify(redisTemplate).execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), anyString(), eq(""), any());
+    }
+
+    @Test
+    @DisplayName("should release the key when the response was written before any handler ran")
+    void testFirstRequest_NoHandlerReleasesKey() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any())).thenReturn(null);
+        when(redisTemplate.execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), any(), any(), any()))
+                .thenReturn(1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(401));
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(401);
+        verify(redisTemplate).execute(eq(IdempotencyFilter.COMPLETE), eq(List.of(key)), anyString(), eq(""), any());
+    }
+
+    // ===== Duplicate Request Tests =====
+
+    @Test
+    @DisplayName("should replay the stored response byte for byte")
+    void testDuplicate_ReplaysStoredResponse() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any()))
+                .thenReturn(done(REQUEST_BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getHeader("Location")).isEqualTo("/api/orders/42");
+        assertThat(response.getContentAsString()).isEqualTo(RESPONSE_BODY);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("should reject a reused key whose request body differs")
+    void testDuplicate_DifferentBody() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any()))
+                .thenReturn(done("{\"customerId\":\"c-2\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(422);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("should wait for an in-flight duplicate and replay its result")
+    void testDuplicate_WaitsForInFlightRequest() throws Exception {
+        // Arrange
+        String inFlight = IdempotencyFilter.IN_FLIGHT + "|" + sha256(REQUEST_BODY) + "|claim";
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any()))
+                .thenReturn(inFlight, inFlight, done(REQUEST_BODY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo(RESPONSE_BODY);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("should return 409 when the in-flight duplicate does not finish in time")
+    void testDuplicate_TimesOut() throws Exception {
+        // Arrange
+        when(redisTemplate.execute(eq(IdempotencyFilter.CLAIM), eq(List.of(key)), any(), any()))
+                .thenReturn(IdempotencyFilter.IN_FLIGHT + "|" + sha256(REQUEST_BODY) + "|claim");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(409);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("should reject a body over the limit with 413 without claiming the key")
+    void testOversizedBody_Rejected() throws Exception {
+        // Arrange
+        MockHttpServletRequest oversized = keyedRequest("t1", "x".repeat(257));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(oversized, response, filterChain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(413);
+        verifyNoInteractions(redisTemplate, filterChain);
+    }
+
+    @Test
+    @DisplayName("should pass requests without a key straight through")
+    void testNoKey_PassesThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/orders");
+
+        // Act
+        filter.doFilter(plain, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static MockHttpServletRequest keyedRequest(String tenantId, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setAttribute(TenantContext.TENANT_ID, tenantId);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static void writeOrder(HttpServletResponse response) throws IOException {
+        response.setStatus(201);
+        response.setContentType("application/json");
+        response.setHeader("Location", "/api/orders/42");
+        response.getOutputStream().write(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String done(String requestBody) {
+        return IdempotencyFilter.DONE + "|" + sha256(requestBody) + "|" + new StoredResponse(201, "application/json",
+                List.of(Map.entry("Location", "/api/orders/42")),
+                RESPONSE_BODY.getBytes(StandardCharsets.UTF_8)).encode();
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package code.with.vanilson.market.shared.infrastructure;
+
+import code.with.vanilson.market.customers.domain.CustomerRepository;
+import code.with.vanilson.market.orders.domain.OrderRepository;
+import code.with.vanilson.market.products.domain.ProductRepository;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import code.with.vanilson.market.shared.infrastructure.test.CapturingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the SQL that the tenant-scoped repository methods actually generate and runs EXPLAIN on it
+ * against a few hundred thousand rows spread over 200 tenants, with the planner left free to choose a
+ * sequential scan, to check that each one is answered by its composite index.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "code.with.vanilson.market.shared.infrastructure.test.CapturingStatementInspector")
+class TenantIndexPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String TENANT = "plan-tenant-7";
+    private static final int TENANTS = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM products WHERE tenant_id = ?", Long.class, TENANT) > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO products (id, tenant_id, name, sku, inventory_count) " +
+                "SELECT gen_random_uuid(), 'plan-tenant-' || (g % " + TENANTS + "), 'Plan Product', 'PLAN-' || g, 0 " +
+                "FROM generate_series(1, 200000) g");
+        jdbcTemplate.update("INSERT INTO customers (id, tenant_id, name, email) " +
+                "SELECT gen_random_uuid(), 'plan-tenant-' || (g % " + TENANTS + "), 'Plan Customer', " +
+                "'plan+' || g || '@example.com' FROM generate_series(1, 40000) g");
+        jdbcTemplate.update("INSERT INTO orders (id, tenant_id, customer_id, status, created_at) " +
+                "SELECT gen_random_uuid(), c.tenant_id, c.id, 'PLACED', now() - g * interval '1 minute' " +
+                "FROM customers c CROSS JOIN generate_series(1, 5) g WHERE c.tenant_id LIKE 'plan-tenant-%'");
+        jdbcTemplate.execute("ANALYZE products");
+        jdbcTemplate.execute("ANALYZE customers");
+        jdbcTemplate.execute("ANALYZE orders");
+    }
+
+    @Test
+    @DisplayName("product pages should seek on (tenant_id, id)")
+    void productPagesUseTenantIdIndex() {
+        UUID after = new UUID(0, 0);
+        CapturingStatementInspector.clear();
+        productRepository.findByTenantIdAndIdGreaterThanOrderByIdAsc(TENANT, after, Limit.of(51));
+
+        assertThat(explain(CapturingStatementInspector.last("from products"), TENANT, after, 51))
+                .contains("idx_products_tenant_id_id")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    @DisplayName("customer pages should seek on (tenant_id, id)")
+    void customerPagesUseTenantIdIndex() {
+        CapturingStatementInspector.clear();
+        customerRepository.findByTenantIdOrderByIdAsc(TENANT, Limit.of(51));
+
+        assertThat(explain(CapturingStatementInspector.last("from customers"), TENANT, 51))
+                .contains("idx_customers_tenant_id_id")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    @DisplayName("order lookups by id should stay inside the tenant index")
+    void orderLookupUsesTenantIdIndex() {
+        UUID orderId = jdbcTemplate.queryForObject(
+                "SELECT id FROM orders WHERE tenant_id = ? LIMIT 1", UUID.class, TENANT);
+        CapturingStatementInspector.clear();
+        orderRepository.findByTenantIdAndId(TENANT, orderId);
+
+        assertThat(explain(CapturingStatementInspector.last("from orders"), TENANT, orderId))
+                .containsAnyOf("idx_orders_tenant_id_id", "orders_pkey")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("customer order history should be read newest first from (tenant_id, customer_id, created_at)")
+    void customerOrderHistoryUsesCompositeIndex() {
+        UUID customerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM customers WHERE tenant_id = ? LIMIT 1", UUID.class, TENANT);
+        CapturingStatementInspector.clear();
+        orderRepository.findByTenantIdAndCustomerIdOrderByCreatedAtDesc(TENANT, customerId, Limit.of(50));
+
+        assertThat(explain(CapturingStatementInspector.last("from orders"), TENANT, customerId, 50))
+                .contains("Index Scan Backward using idx_orders_tenant_customer_created_at")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    /**
+     * Prepares the captured statement server-side and explains one execution of it with the given
+     * arguments, so the plan is the one Postgres picks for the repository's own parameterised SQL.
+     */
+    private String explain(String sql, Object... args) {
+        StringBuilder prepared = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameter);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertThat(parameter).as("bind parameters in %s", sql).isEqualTo(args.length);
+        String values = Stream.of(args)
+                .map(arg -> arg instanceof Number ? arg.toString() : "'" + arg + "'")
+                .collect(Collectors.joining(", "));
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("PREPARE repository_query AS " + prepared);
+            try {
+                List<String> plan = jdbcTemplate.queryForList("EXPLAIN EXECUTE repository_query(" + values + ")",
+                        String.class);
+                return String.join("\n", plan);
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE repository_query");
+            }
+        });
+    }
+}
@@ -0,0 +1,195 @@
+package code.with.vanilson.market.shared.infrastructure.cache;
+
+import code.with.vanilson.market.customers.api.CustomerDto;
+import code.with.vanilson.market.customers.application.CustomerService;
+import code.with.vanilson.market.customers.domain.Customer;
+import code.with.vanilson.market.customers.domain.CustomerRepository;
+import code.with.vanilson.market.payments.api.PaymentDto;
+import code.with.vanilson.market.payments.application.PaymentService;
+import code.with.vanilson.market.payments.domain.Payment;
+import code.with.vanilson.market.payments.domain.PaymentRepository;
+import code.with.vanilson.market.payments.domain.PaymentStatus;
+import code.with.vanilson.market.shared.domain.Money;
+import code.with.vanilson.market.shared.infrastructure.exception.CustomerNotFoundException;
+import code.with.vanilson.market.shared.infrastructure.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Interleaves cached reads with writes through the services and checks every read against the state the
+ * writes left behind. A failure prints the seed so the sequence can be replayed.
+ */
+class CacheCoherenceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String TENANT = "cache-tenant";
+    private static final int CUSTOMERS = 10;
+    private static final int PAYMENTS = 40;
+    private static final int OPERATIONS = 1_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    @DisplayName("random reads and writes should never observe a stale cached value")
+    void randomInterleavingHasNoStaleHits() {
+        long seed = System.nanoTime();
+        Random random = new Random(seed);
+        String context = "seed " + seed;
+
+        Map<UUID, Customer> expectedCustomers = new HashMap<>();
+        for (Customer customer : seedCustomers(CUSTOMERS)) {
+            expectedCustomers.put(customer.getId(), customer);
+        }
+        Map<UUID, Payment> expectedPayments = new HashMap<>();
+        for (Payment payment : seedPayments(PAYMENTS)) {
+            expectedPayments.put(payment.getId(), payment);
+        }
+        List<UUID> customerIds = new ArrayList<>(expectedCustomers.keySet());
+        List<UUID> paymentIds = new ArrayList<>(expectedPayments.keySet());
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            UUID customerId = customerIds.get(random.nextInt(customerIds.size()));
+            Customer customer = expectedCustomers.get(customerId);
+            UUID paymentId = paymentIds.get(random.nextInt(paymentIds.size()));
+            Payment payment = expectedPayments.get(paymentId);
+
+            switch (random.nextInt(7)) {
+                case 0, 1 -> {
+                    if (customer == null) {
+                        assertThatThrownBy(() -> customerService.getCustomerById(TENANT, customerId))
+                                .as(context).isInstanceOf(CustomerNotFoundException.class);
+                    } else {
+                        CustomerDto.Response cached = customerService.getCustomerById(TENANT, customerId);
+                        assertThat(cached.getName()).as(context).isEqualTo(customer.getName());
+                        assertThat(cached.isKycVerified()).as(context).isEqualTo(customer.isKycVerified());
+                    }
+                }
+                case 2 -> {
+                    if (customer != null) {
+                        CustomerDto.UpdateRequest request = new CustomerDto.UpdateRequest();
+                        request.setName("Customer " + random.nextInt(1_000_000));
+                        request.setEmail(customer.getEmail());
+                        request.setKycVerified(random.nextBoolean());
+                        customerService.updateCustomer(TENANT, customerId, request);
+                        customer.setName(request.getName());
+                        customer.setKycVerified(request.isKycVerified());
+                    }
+                }
+                case 3 -> {
+                    if (customer != null && !customer.isKycVerified()) {
+                        customerService.verifyKyc(TENANT, customerId);
+                        customer.setKycVerified(true);
+                    }
+                }
+                case 4 -> {
+                    // Rare, so most of the run still has customers to read
+                    if (customer != null && random.nextInt(20) == 0) {
+                        customerService.deleteCustomerById(TENANT, customerId);
+                        expectedCustomers.put(customerId, null);
+                    }
+                }
+                case 5 -> {
+                    PaymentDto.Response byId = paymentService.getPaymentById(paymentId);
+                    PaymentDto.Response byOrder = paymentService.getPaymentByOrderId(payment.getOrderId());
+                    assertThat(byId.getStatus()).as(context).isEqualTo(payment.getStatus().name());
+                    assertThat(byOrder.getStatus()).as(context).isEqualTo(payment.getStatus().name());
+                }
+                default -> {
+                    if (payment.getStatus() == PaymentStatus.CAPTURED) {
+                        paymentService.refundOrder(payment.getOrderId());
+                        payment.setStatus(PaymentStatus.REFUNDED);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("reads racing a writer should settle on the last committed value")
+    void concurrentReadersSettleOnLastWrite() throws Exception {
+        List<Customer> customers = seedCustomers(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(readers.submit(() -> {
+                while (writing.get()) {
+                    for (Customer customer : customers) {
+                        customerService.getCustomerById(TENANT, customer.getId());
+                    }
+                }
+            }));
+        }
+
+        Map<UUID, String> lastWritten = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Customer customer = customers.get(i % customers.size());
+            CustomerDto.UpdateRequest request = new CustomerDto.UpdateRequest();
+            request.setName("Racing " + i);
+            request.setEmail(customer.getEmail());
+            customerService.updateCustomer(TENANT, customer.getId(), request);
+            lastWritten.put(customer.getId(), request.getName());
+        }
+        writing.set(false);
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        readers.shutdown();
+
+        for (Customer customer : customers) {
+            assertThat(customerService.getCustomerById(TENANT, customer.getId()).getName())
+                    .isEqualTo(lastWritten.get(customer.getId()));
+        }
+    }
+
+    private List<Customer> seedCustomers(int count) {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customers.add(Customer.builder()
+                    .tenantId(TENANT)
+                    .name("Customer " + i)
+                    .email("cache+" + UUID.randomUUID() + "@example.com")
+                    .build());
+        }
+        return customerRepository.saveAll(customers);
+    }
+
+    private List<Payment> seedPayments(int count) {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            payments.add(Payment.builder()
+                    .orderId(UUID.randomUUID())
+                    .tenantId(TENANT)
+                    .amount(new Money(new BigDecimal("10.00"), "USD"))
+                    .status(PaymentStatus.CAPTURED)
+                    .build());
+        }
+        return paymentRepository.saveAll(payments);
+    }
+}
@@ -0,0 +1,117 @@
+package code.with.vanilson.market.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TwoTierCache Tests")
+class TwoTierCacheTest {
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private ConcurrentMapCache remote;
+    private List<String> published;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        remote = new ConcurrentMapCache("customers", false);
+        published = new ArrayList<>();
+        cache = new TwoTierCache("customers", local, remote, (name, key) -> published.add(name + ":" + key));
+    }
+
+    // ===== Read Tests =====
+
+    @Test
+    @DisplayName("Should fill the local tier from Redis on a local miss")
+    void testGet_FillsLocalFromRemote() {
+        // Arrange
+        remote.put("t1:42", "value");
+
+        // Act
+        Object value = cache.get("t1:42").get();
+
+        // Assert
+        assertThat(value).isEqualTo("value");
+        assertThat(local.getIfPresent("t1:42")).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should return null when neither tier holds the key")
+    void testGet_MissInBothTiers() {
+        // Act & Assert
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should load once and write the value to both tiers")
+    void testGetWithLoader_WritesBothTiers() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.get("k", () -> "loaded-" + loads.incrementAndGet());
+        String second = cache.get("k", () -> "loaded-" + loads.incrementAndGet());
+
+        // Assert
+        assertThat(first).isEqualTo("loaded-1");
+        assertThat(second).isEqualTo("loaded-1");
+        assertThat(remote.get("k").get()).isEqualTo("loaded-1");
+        assertThat(published).isEmpty();
+    }
+
+    // ===== Write Tests =====
+
+    @Test
+    @DisplayName("Should evict from both tiers and broadcast the key")
+    void testEvict_EvictsBothTiersAndPublishes() {
+        // Arrange
+        cache.put("k", "v");
+        published.clear();
+
+        // Act
+        cache.evict("k");
+
+        // Assert
+        assertThat(local.getIfPresent("k")).isNull();
+        assertThat(remote.get("k")).isNull();
+        assertThat(published).containsExactly("customers:k");
+    }
+
+    @Test
+    @DisplayName("Should broadcast a clear without a key")
+    void testClear_PublishesClear() {
+        // Arrange
+        cache.put("k", "v");
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertThat(local.estimatedSize()).isZero();
+        assertThat(published).containsExactly("customers:k", "customers:null");
+    }
+
+    @Test
+    @DisplayName("Should drop only the local copy when another node invalidates")
+    void testEvictLocal_KeepsRemote() {
+        // Arrange
+        cache.put("k", "v");
+
+        // Act
+        cache.evictLocal("k");
+
+        // Assert
+        assertThat(local.getIfPresent("k")).isNull();
+        assertThat(remote.get("k").get()).isEqualTo("v");
+        assertThat(cache.get("k").get()).isEqualTo("v");
+    }
+}
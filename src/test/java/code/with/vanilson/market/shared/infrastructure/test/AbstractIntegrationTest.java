@@ -18,7 +18,7 @@ import org.testcontainers.containers.KafkaContainer;
 @DisabledIfEnvironmentVariable(named = "CI", matches = "true")
 public abstract class AbstractIntegrationTest {
 
-    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+    protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
             .withDatabaseName("market_test")
             .withUsername("postgres")
             .withPassword("password");
@@ -0,0 +1,38 @@
+package code.with.vanilson.market.shared.infrastructure.test;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can inspect the exact text a repository
+ * method sends to the database. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Returns the most recent captured statement that contains {@code fragment}.
+     */
+    public static String last(String fragment) {
+        for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+            if (STATEMENTS.get(i).contains(fragment)) {
+                return STATEMENTS.get(i);
+            }
+        }
+        throw new IllegalStateException("No captured statement contains " + fragment);
+    }
+}